@@ -0,0 +1,65 @@
+package com.digitaltolk.translation.benchmark;
+
+import com.digitaltolk.translation.service.TrigramIndex;
+import org.openjdk.jmh.annotations.*;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substring lookup over 1M translation contents: trigram candidate lookup versus the
+ * row-by-row LOWER(content) LIKE '%...%' scan it replaces (modelled here as an in-memory scan,
+ * which is a lower bound for what the database does).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContentSearchBenchmark {
+
+    private static final String[] WORDS = {"Welcome", "Login", "Error occurred", "Success", "Loading",
+        "Save", "Cancel", "Delete", "Bienvenue", "Connexion", "Willkommen", "Speichern"};
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"willkommen 4242", "speich", "error occurred 99999"})
+    private String query;
+
+    private String[] contents;
+    private TrigramIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        contents = new String[rows];
+        index = new TrigramIndex();
+        for (int i = 0; i < rows; i++) {
+            contents[i] = WORDS[random.nextInt(WORDS.length)] + " " + i + " [app.label." + i + "]";
+            index.add(i, contents[i]);
+        }
+    }
+
+    @Benchmark
+    public int trigramCandidates() {
+        RoaringBitmap candidates = index.candidates(query);
+        return candidates.getCardinality();
+    }
+
+    @Benchmark
+    public int likeScan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        int matches = 0;
+        for (String content : contents) {
+            if (content.toLowerCase(Locale.ROOT).contains(needle)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+}
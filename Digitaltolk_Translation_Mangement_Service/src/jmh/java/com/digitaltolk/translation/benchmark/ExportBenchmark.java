@@ -0,0 +1,73 @@
+package com.digitaltolk.translation.benchmark;
+
+import com.digitaltolk.translation.entity.Translation;
+import com.digitaltolk.translation.entity.TranslationKey;
+import com.digitaltolk.translation.repo.TranslationEntryView;
+import com.digitaltolk.translation.service.TranslationExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compares the Map-based export (materialize every entity, collect into a HashMap, serialize)
+ * against the streaming writer fed from a cursor-like stream of projections.
+ * SampleTime mode reports p99 latency; run with -prof gc to compare allocation per export.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExportBenchmark {
+
+    @Param({"10000", "100000"})
+    private int keys;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TranslationExportWriter exportWriter = new TranslationExportWriter(objectMapper);
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Benchmark
+    public void mapBasedExport() throws IOException {
+        // Mirrors findByLocale + Collectors.toMap + Jackson serializing the map
+        List<Translation> translations = IntStream.range(0, keys)
+            .mapToObj(i -> new Translation(new TranslationKey(key(i)), "en", content(i)))
+            .collect(Collectors.toList());
+        Map<String, String> export = translations.stream()
+            .collect(Collectors.toMap(Translation::getTranslationKey, Translation::getContent, (a, b) -> b));
+        objectMapper.writeValue(sink, export);
+    }
+
+    @Benchmark
+    public void streamingExport() throws IOException {
+        // Mirrors streamByLocale: one projection alive at a time
+        Stream<Entry> entries = IntStream.range(0, keys).mapToObj(i -> new Entry(key(i), content(i)));
+        exportWriter.write(entries, sink);
+    }
+
+    private static String key(int i) {
+        return "app.label." + i;
+    }
+
+    private static String content(int i) {
+        return "Welcome " + i + " [app.label." + i + "]";
+    }
+
+    private record Entry(String translationKey, String content) implements TranslationEntryView {
+        @Override
+        public String getTranslationKey() { return translationKey; }
+
+        @Override
+        public String getContent() { return content; }
+    }
+
+}
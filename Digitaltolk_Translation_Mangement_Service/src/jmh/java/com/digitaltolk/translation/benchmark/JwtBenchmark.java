@@ -0,0 +1,76 @@
+package com.digitaltolk.translation.benchmark;
+
+import com.digitaltolk.translation.security.JwtPrincipalCache;
+import com.digitaltolk.translation.security.JwtTokenProvider;
+import com.digitaltolk.translation.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling done by JwtAuthenticationFilter on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    // HS512 needs a key of at least 512 bits
+    private static final String SECRET = "benchmarkSecretKeyForJwtTokenGenerationAndValidationThatIsLongEnoughForHs512";
+
+    private JwtTokenProvider tokenProvider;
+    private JwtPrincipalCache principalCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET);
+        principalCache = new JwtPrincipalCache(10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        token = Jwts.builder()
+            .setSubject("admin@digitaltolk.com")
+            .setIssuedAt(new Date())
+            .setExpiration(expiration)
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS512)
+            .compact();
+        UserDetails user = User.withUsername("admin@digitaltolk.com").password("").roles("ADMIN").build();
+        principalCache.put(token, new VerifiedToken(user, "benchmark", Instant.now(), expiration.toInstant()));
+    }
+
+    @Benchmark
+    public String validateThenExtract() {
+        // The filter's former flow: two full parses and signature checks
+        if (!tokenProvider.validateToken(token)) {
+            throw new IllegalStateException("Token rejected");
+        }
+        return tokenProvider.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public String parseOnce() {
+        // A principal cache miss
+        Claims claims = tokenProvider.parseClaims(token)
+            .orElseThrow(() -> new IllegalStateException("Token rejected"));
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public UserDetails cachedPrincipal() {
+        // A principal cache hit: one SHA-256 and a map lookup
+        return principalCache.get(token).getUser();
+    }
+
+}
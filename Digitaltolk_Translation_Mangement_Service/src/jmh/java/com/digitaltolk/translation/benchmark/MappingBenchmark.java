@@ -0,0 +1,97 @@
+package com.digitaltolk.translation.benchmark;
+
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.entity.Tag;
+import com.digitaltolk.translation.entity.Translation;
+import com.digitaltolk.translation.entity.TranslationKey;
+import com.digitaltolk.translation.service.TranslationMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO mapping for one search page and export map building for one locale: the
+ * per-row work on every read path, with the database taken out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MappingBenchmark {
+
+    private static final String[] TAGS = {"mobile", "desktop", "web", "ui", "form", "button"};
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    @Param({"100000"})
+    private int exportSize;
+
+    private List<Translation> page;
+    private Map<Long, Set<String>> pageTags;
+    private List<Translation> locale;
+
+    @Setup
+    public void setUp() {
+        Map<String, Tag> tags = new HashMap<>();
+        for (String name : TAGS) {
+            tags.put(name, new Tag(name));
+        }
+
+        page = new ArrayList<>(pageSize);
+        pageTags = new HashMap<>();
+        for (int i = 0; i < pageSize; i++) {
+            Translation translation = translation(i);
+            Set<String> names = Set.of(TAGS[i % TAGS.length], TAGS[(i + 1) % TAGS.length]);
+            names.forEach(name -> translation.getTags().add(tags.get(name)));
+            page.add(translation);
+            pageTags.put(translation.getId(), names);
+        }
+
+        locale = new ArrayList<>(exportSize);
+        for (int i = 0; i < exportSize; i++) {
+            locale.add(translation(i));
+        }
+    }
+
+    @Benchmark
+    public void mapPageWithBatchedTags(Blackhole blackhole) {
+        for (Translation translation : page) {
+            blackhole.consume(TranslationMapper.toDto(translation, pageTags.getOrDefault(translation.getId(), Set.of())));
+        }
+    }
+
+    @Benchmark
+    public void mapPageFromEntityTags(Blackhole blackhole) {
+        for (Translation translation : page) {
+            blackhole.consume(TranslationMapper.toDto(translation));
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> buildExportMap() {
+        // Same collector as TranslationService.exportTranslations
+        return locale.stream()
+            .collect(Collectors.toMap(Translation::getTranslationKey, Translation::getContent, (existing, replacement) -> replacement));
+    }
+
+    @Benchmark
+    public TranslationDto mapSingle() {
+        return TranslationMapper.toDto(page.get(0), pageTags.get(page.get(0).getId()));
+    }
+
+    private static Translation translation(int i) {
+        Translation translation = new Translation(new TranslationKey("app.label." + i), "en", "Welcome " + i + " [app.label." + i + "]");
+        translation.setId((long) i + 1);
+        translation.setCreatedAt(LocalDateTime.now());
+        translation.setUpdatedAt(LocalDateTime.now());
+        return translation;
+    }
+
+}
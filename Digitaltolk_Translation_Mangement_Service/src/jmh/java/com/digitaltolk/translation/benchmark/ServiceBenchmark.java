@@ -0,0 +1,129 @@
+package com.digitaltolk.translation.benchmark;
+
+import com.digitaltolk.translation.TranslationServiceApplication;
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.dto.TranslationSliceDto;
+import com.digitaltolk.translation.service.BulkJob;
+import com.digitaltolk.translation.service.ContentSearchIndex;
+import com.digitaltolk.translation.service.DataSeederService;
+import com.digitaltolk.translation.service.ExportSnapshotService;
+import com.digitaltolk.translation.service.TagFilterIndex;
+import com.digitaltolk.translation.service.TranslationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service calls against an in-memory H2 database seeded with the deterministic
+ * seeder (keys x 10 locales). Each benchmark method forks its own JVM and seeds its own data.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ServiceBenchmark {
+
+    private static final Map<String, Object> H2_PROPERTIES = Map.ofEntries(
+        Map.entry("spring.datasource.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+        Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+        Map.entry("spring.datasource.username", "sa"),
+        Map.entry("spring.datasource.password", ""),
+        Map.entry("spring.jpa.hibernate.ddl-auto", "create-drop"),
+        Map.entry("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+        Map.entry("spring.jpa.show-sql", "false"),
+        Map.entry("server.port", "0"),
+        Map.entry("management.server.port", "0"),
+        Map.entry("logging.level.org.hibernate.SQL", "WARN"),
+        Map.entry("logging.level.org.springframework.security", "WARN"),
+        Map.entry("logging.level.com.digitaltolk.translation", "WARN"));
+
+    @Param({"10000"})
+    private int keys;
+
+    private ConfigurableApplicationContext context;
+    private TranslationService translationService;
+    private ExportSnapshotService exportSnapshotService;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private Long updateId;
+    private TranslationDto update;
+    private int updates;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = new SpringApplicationBuilder(TranslationServiceApplication.class)
+            .properties(H2_PROPERTIES)
+            .run();
+        translationService = context.getBean(TranslationService.class);
+        exportSnapshotService = context.getBean(ExportSnapshotService.class);
+
+        context.getBean(DataSeederService.class).seedDatabase(keys, 42L, new BulkJob("benchmark", BulkJob.Type.SEED, null));
+        context.getBean(TagFilterIndex.class).rebuild();
+        awaitSearchIndex(context.getBean(ContentSearchIndex.class));
+
+        // Writes go to a locale none of the read benchmarks touch
+        TranslationDto target = translationService.searchTranslations(null, "ko", null, null, false, 0, 1, "id", "asc")
+            .getContent().get(0);
+        updateId = target.getId();
+        update = new TranslationDto();
+        update.setTranslationKey(target.getTranslationKey());
+        update.setLocale(target.getLocale());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void streamExport() throws IOException {
+        translationService.streamExport("en", null, sink);
+    }
+
+    @Benchmark
+    public int snapshotExport() {
+        return exportSnapshotService.getSnapshot("en").getBody().length;
+    }
+
+    @Benchmark
+    public Page<TranslationDto> searchByContent() {
+        return translationService.searchTranslations(null, "en", "loading 12", null, false, 0, 20, "id", "asc");
+    }
+
+    @Benchmark
+    public Page<TranslationDto> searchByAllTags() {
+        return translationService.searchTranslations(null, "de", null, List.of("mobile", "ui"), true, 0, 20, "updatedAt", "desc");
+    }
+
+    @Benchmark
+    public TranslationSliceDto keysetSearchByTag() {
+        return translationService.searchTranslationsKeyset(null, "fr", null, List.of("web"), false, 20, "translationKey", "asc", null);
+    }
+
+    @Benchmark
+    public TranslationDto updateWithTags() {
+        // Alternating tag sets keep getOrCreateTags and the link rewrite on the measured path
+        int n = updates++;
+        update.setContent("Benchmark " + n);
+        update.setTags(n % 2 == 0 ? Set.of("mobile", "ui") : Set.of("web", "form"));
+        return translationService.updateTranslation(updateId, update);
+    }
+
+    private static void awaitSearchIndex(ContentSearchIndex searchIndex) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        while (searchIndex.candidates(null, "welcome").isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+}
@@ -0,0 +1,378 @@
+package com.digitaltolk.translation.loadtest;
+
+import com.digitaltolk.translation.TranslationServiceApplication;
+import com.digitaltolk.translation.service.BulkJob;
+import com.digitaltolk.translation.service.DataSeederService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP load harness: drives a closed-loop mix of export, search and write requests from
+ * concurrent clients, records latencies in HDR histograms and fails (exit code 1) when a
+ * configured SLO is exceeded. Configuration: {@code src/loadtest/resources/loadtest.properties}.
+ *
+ * <p>Closed loop means a slow response delays that client's next request, so the percentiles
+ * understate what an open-loop arrival rate would see at the same throughput.
+ */
+public final class LoadTest {
+
+    private static final String[] LOCALES = {"en", "fr", "es", "de", "it", "pt", "ru", "zh", "ja", "ko"};
+    private static final String[] TAGS = {"mobile", "desktop", "web", "ui", "form", "button"};
+    private static final String[] CONTENT_WORDS = {"welcome", "loading", "save", "cancel", "delete"};
+    private static final String[] KEY_PREFIXES = {"app.title", "common.label", "auth.message", "order.error"};
+
+    private static final Map<String, Object> EMBEDDED_PROPERTIES = Map.ofEntries(
+        Map.entry("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+        Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+        Map.entry("spring.datasource.username", "sa"),
+        Map.entry("spring.datasource.password", ""),
+        Map.entry("spring.jpa.hibernate.ddl-auto", "create-drop"),
+        Map.entry("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+        Map.entry("spring.jpa.show-sql", "false"),
+        Map.entry("server.port", "0"),
+        Map.entry("management.server.port", "0"),
+        Map.entry("logging.level.org.hibernate.SQL", "WARN"),
+        Map.entry("logging.level.org.springframework.security", "WARN"),
+        Map.entry("logging.level.com.digitaltolk.translation", "WARN"));
+
+    private final Properties config;
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+    private final AtomicLong writeCounter = new AtomicLong();
+
+    private String baseUrl;
+    private String exportPath;
+    private String writeMode;
+    private int writeKeySpace;
+    private int writeBatchSize;
+    private String token;
+
+    enum Scenario {
+        EXPORT, SEARCH, WRITE
+    }
+
+    private LoadTest(Properties config) {
+        this.config = config;
+        for (Scenario scenario : Scenario.values()) {
+            recorders.put(scenario, new Recorder(3));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties config = loadConfig(System.getProperty("loadtest.config"));
+        int exitCode = new LoadTest(config).run();
+        System.exit(exitCode);
+    }
+
+    private int run() throws Exception {
+        ConfigurableApplicationContext context = null;
+        baseUrl = config.getProperty("base-url", "").trim();
+        exportPath = config.getProperty("export.path", "/api/translations/export/{locale}");
+        writeMode = config.getProperty("write.mode", "create");
+        writeKeySpace = Integer.parseInt(config.getProperty("write.key-space", "0"));
+        writeBatchSize = "patch".equals(writeMode) ? Integer.parseInt(config.getProperty("write.batch-size", "1")) : 1;
+        if (baseUrl.isEmpty()) {
+            context = startEmbedded();
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            token = login();
+            Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+            for (Scenario scenario : Scenario.values()) {
+                mix.put(scenario, Integer.parseInt(config.getProperty("mix." + scenario.name().toLowerCase(), "0")));
+            }
+
+            Duration warmup = Duration.parse(config.getProperty("warmup", "PT10S"));
+            Duration duration = Duration.parse(config.getProperty("duration", "PT30S"));
+            int clients = Integer.parseInt(config.getProperty("clients", "16"));
+
+            System.out.printf("Load test against %s: %d clients, warmup %s, measuring %s, mix %s%n",
+                baseUrl, clients, warmup, duration, mix);
+            drive(clients, warmup, mix);
+            recorders.values().forEach(Recorder::reset);
+            errors.values().forEach(LongAdder::reset);
+            drive(clients, duration, mix);
+
+            Map<Scenario, Histogram> histograms = new EnumMap<>(Scenario.class);
+            recorders.forEach((scenario, recorder) -> histograms.put(scenario, recorder.getIntervalHistogram()));
+            List<String> violations = checkSlos(histograms);
+            report(histograms, duration, violations);
+            return violations.isEmpty() ? 0 : 1;
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startEmbedded() {
+        Map<String, Object> properties = new HashMap<>(EMBEDDED_PROPERTIES);
+        properties.put("spring.threads.virtual.enabled", config.getProperty("virtual-threads", "false"));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TranslationServiceApplication.class)
+            .properties(properties)
+            .run();
+        int keys = Integer.parseInt(config.getProperty("keys", "10000"));
+        long seed = Long.parseLong(config.getProperty("seed", "42"));
+        long started = System.nanoTime();
+        context.getBean(DataSeederService.class).seedDatabase(keys, seed, new BulkJob("loadtest", BulkJob.Type.SEED, null));
+        System.out.printf("Seeded %d keys x %d locales in %d ms%n",
+            keys, LOCALES.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return context;
+    }
+
+    private String login() throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of(
+            "email", config.getProperty("username"), "password", config.getProperty("password")));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("token").asText();
+    }
+
+    private void drive(int clients, Duration duration, Map<Scenario, Integer> mix) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The request mix has no positive weights");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(pick(mix, totalWeight));
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private static Scenario pick(Map<Scenario, Integer> mix, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Scenario.SEARCH;
+    }
+
+    private void execute(Scenario scenario) {
+        HttpRequest request = request(scenario);
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                errors.get(scenario).increment();
+            }
+        } catch (IOException e) {
+            errors.get(scenario).increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorders.get(scenario).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+    }
+
+    private HttpRequest request(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String locale = LOCALES[random.nextInt(LOCALES.length)];
+        switch (scenario) {
+            case EXPORT:
+                return HttpRequest.newBuilder(URI.create(baseUrl + exportPath.replace("{locale}", locale))).GET().build();
+            case WRITE:
+                return writeRequest(random, locale);
+            default:
+                String query;
+                switch (random.nextInt(3)) {
+                    case 0:
+                        query = "content=" + encode(CONTENT_WORDS[random.nextInt(CONTENT_WORDS.length)] + " " + random.nextInt(1000));
+                        break;
+                    case 1:
+                        query = "tags=" + TAGS[random.nextInt(TAGS.length)] + "&tags=" + TAGS[random.nextInt(TAGS.length)] + "&tagMatch=all";
+                        break;
+                    default:
+                        query = "key=" + encode(KEY_PREFIXES[random.nextInt(KEY_PREFIXES.length)]);
+                }
+                return authorized(baseUrl + "/api/translations/search?locale=" + locale + "&size=20&" + query).GET().build();
+        }
+    }
+
+    /**
+     * create: POST a new key every time. upsert: PUT by key and locale. patch: PATCH
+     * {@code write.batch-size} rows per request. With {@code write.key-space} > 0 keys are drawn
+     * from that many shared keys, so concurrent writers contend for the same rows.
+     */
+    private HttpRequest writeRequest(ThreadLocalRandom random, String locale) {
+        if ("patch".equals(writeMode)) {
+            StringBuilder body = new StringBuilder("{\"patches\":[");
+            for (int i = 0; i < writeBatchSize; i++) {
+                body.append(i == 0 ? "" : ",").append(writeRow(random, LOCALES[random.nextInt(LOCALES.length)]));
+            }
+            body.append("]}");
+            return authorized(baseUrl + "/api/translations")
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        }
+        String body = writeRow(random, locale);
+        HttpRequest.Builder request = "upsert".equals(writeMode)
+            ? authorized(baseUrl + "/api/translations/upsert").PUT(HttpRequest.BodyPublishers.ofString(body))
+            : authorized(baseUrl + "/api/translations").POST(HttpRequest.BodyPublishers.ofString(body));
+        return request.header("Content-Type", "application/json").build();
+    }
+
+    private String writeRow(ThreadLocalRandom random, String locale) {
+        long n = writeCounter.incrementAndGet();
+        String key = writeKeySpace > 0
+            ? "loadtest.shared." + random.nextInt(writeKeySpace)
+            : "loadtest." + System.nanoTime() + "." + n;
+        return "{\"translationKey\":\"" + key + "\",\"locale\":\"" + locale
+            + "\",\"content\":\"Load test " + n + "\",\"tags\":[\"" + TAGS[random.nextInt(TAGS.length)] + "\"]}";
+    }
+
+    private HttpRequest.Builder authorized(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token);
+    }
+
+    private List<String> checkSlos(Map<Scenario, Histogram> histograms) {
+        List<String> violations = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = histograms.get(scenario);
+            String prefix = "slo." + scenario.name().toLowerCase() + ".";
+            for (String percentile : List.of("p50", "p99", "p999")) {
+                String limit = config.getProperty(prefix + percentile + "-ms");
+                if (limit == null || limit.isBlank() || histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                double actualMs = histogram.getValueAtPercentile(percentileValue(percentile)) / 1000.0;
+                if (actualMs > Double.parseDouble(limit)) {
+                    violations.add(String.format("%s %s %.1f ms > %s ms", scenario, percentile, actualMs, limit));
+                }
+            }
+
+            String maxErrorRate = config.getProperty("slo.max-error-rate");
+            long requests = histogram.getTotalCount();
+            if (maxErrorRate != null && !maxErrorRate.isBlank() && requests > 0) {
+                double errorRate = (double) errors.get(scenario).sum() / requests;
+                if (errorRate > Double.parseDouble(maxErrorRate)) {
+                    violations.add(String.format("%s error rate %.4f > %s", scenario, errorRate, maxErrorRate));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private void report(Map<Scenario, Histogram> histograms, Duration duration, List<String> violations) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (histograms.get(Scenario.WRITE).getTotalCount() > 0) {
+            double rowsPerSecond = histograms.get(Scenario.WRITE).getTotalCount() * writeBatchSize / (double) duration.toSeconds();
+            result.put("writeMode", writeMode);
+            result.put("writeRowsPerSecond", rowsPerSecond);
+            System.out.printf("%nWrites (%s, %d rows per request): %.1f rows/s%n", writeMode, writeBatchSize, rowsPerSecond);
+        }
+        System.out.printf("%n%-8s %10s %8s %10s %9s %9s %9s %9s%n",
+            "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = histograms.get(scenario);
+            long requests = histogram.getTotalCount();
+            double throughput = requests / (double) duration.toSeconds();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", requests);
+            row.put("errors", errors.get(scenario).sum());
+            row.put("throughput", throughput);
+            row.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            row.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            row.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+            row.put("maxMs", histogram.getMaxValue() / 1000.0);
+            result.put(scenario.name().toLowerCase(), row);
+            System.out.printf("%-8s %10d %8d %10.1f %9.1f %9.1f %9.1f %9.1f%n", scenario.name().toLowerCase(), requests,
+                errors.get(scenario).sum(), throughput, row.get("p50Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"));
+        }
+        result.put("sloViolations", violations);
+
+        if (violations.isEmpty()) {
+            System.out.println("\nAll SLOs met");
+        } else {
+            System.out.println("\nSLO violations:");
+            violations.forEach(violation -> System.out.println("  " + violation));
+        }
+
+        String reportFile = config.getProperty("report");
+        if (reportFile != null && !reportFile.isBlank()) {
+            Path path = Path.of(reportFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), result);
+        }
+    }
+
+    private static double percentileValue(String percentile) {
+        switch (percentile) {
+            case "p50":
+                return 50;
+            case "p99":
+                return 99;
+            default:
+                return 99.9;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Properties loadConfig(String file) throws IOException {
+        Properties config = new Properties();
+        try (InputStream defaults = LoadTest.class.getResourceAsStream("/loadtest.properties")) {
+            if (defaults != null) {
+                config.load(defaults);
+            }
+        }
+        if (file != null && !file.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(file))) {
+                config.load(in);
+            }
+        }
+        return config;
+    }
+
+}
@@ -1,19 +1,52 @@
 package com.digitaltolk.translation.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @Configuration
 @EnableCaching
 @EnableJpaAuditing
 public class ApplicationConfig {
+	
+	@Value("${app.cache.translations.max-weight:64MB}")
+    private DataSize translationsMaxWeight;
+    
+    @Value("${app.cache.translations.ttl:30m}")
+    private Duration translationsTtl;
+    
+    @Value("${app.cache.translation-export.max-weight:256MB}")
+    private DataSize exportMaxWeight;
+    
+    @Value("${app.cache.translation-export.ttl:10m}")
+    private Duration exportTtl;
+    
 	@Bean
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("translations", "translationExport");
+        // Caffeine's W-TinyLFU admission keeps hot entries when the weight bound is reached;
+        // recordStats() feeds the cache.gets / cache.evictions actuator metrics
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache("translations", Caffeine.newBuilder()
+            .maximumWeight(translationsMaxWeight.toBytes())
+            .weigher(new CacheEntryWeigher())
+            .expireAfterWrite(translationsTtl)
+            .recordStats()
+            .build());
+        cacheManager.registerCustomCache("translationExport", Caffeine.newBuilder()
+            .maximumWeight(exportMaxWeight.toBytes())
+            .weigher(new CacheEntryWeigher())
+            .expireAfterWrite(exportTtl)
+            .recordStats()
+            .build());
+        return cacheManager;
     }
 
 }
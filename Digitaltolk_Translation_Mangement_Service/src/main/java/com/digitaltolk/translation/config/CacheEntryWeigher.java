@@ -0,0 +1,55 @@
+package com.digitaltolk.translation.config;
+
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Approximates the retained heap size of a cache entry in bytes, so caches can be bounded
+ * by memory rather than entry count. A full locale export and a single translation differ
+ * by several orders of magnitude, which an entry-count bound cannot express.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE = 8;
+    private static final int MAP_ENTRY_OVERHEAD = 32;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = sizeOf(key) + sizeOf(value);
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            // String header + backing array; Latin-1 strings use one byte per char
+            return 24 + OBJECT_OVERHEAD + string.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 64 + (long) map.size() * (MAP_ENTRY_OVERHEAD + REFERENCE);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 64 + (long) collection.size() * REFERENCE;
+            for (Object element : collection) {
+                size += sizeOf(element);
+            }
+            return size;
+        }
+        if (value instanceof TranslationDto dto) {
+            return 96 + sizeOf(dto.getTranslationKey()) + sizeOf(dto.getLocale())
+                + sizeOf(dto.getContent()) + sizeOf(dto.getTags());
+        }
+        return 64;
+    }
+
+}
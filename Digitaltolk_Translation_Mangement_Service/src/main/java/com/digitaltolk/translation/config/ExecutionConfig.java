@@ -0,0 +1,58 @@
+package com.digitaltolk.translation.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class ExecutionConfig {
+
+    /**
+     * Wraps the Hikari pool in a {@link ConcurrencyLimitedDataSource} sized to the pool.
+     * {@code app.execution.jdbc-limiter.enabled} defaults to on with virtual threads, where
+     * request concurrency is no longer capped by the servlet thread pool. On a Java 17 JVM virtual
+     * threads are never active, so there it is off unless enabled explicitly.
+     */
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                boolean enabled = environment.getProperty("app.execution.jdbc-limiter.enabled", Boolean.class,
+                    ExecutionMode.virtualThreadsEnabled(environment));
+                if (!enabled || !(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                int maxWaiting = environment.getProperty("app.execution.jdbc-limiter.max-waiting", Integer.class, 10000);
+                Duration acquireTimeout = environment.getProperty("app.execution.jdbc-limiter.acquire-timeout",
+                    Duration.class, Duration.ofSeconds(10));
+                return new ConcurrencyLimitedDataSource(pool, pool.getMaximumPoolSize(), maxWaiting, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource limited) {
+                Gauge.builder("jdbc.limiter.waiting", limited, ConcurrencyLimitedDataSource::getWaiting)
+                    .description("Threads waiting for a connection permit")
+                    .register(registry);
+                Gauge.builder("jdbc.limiter.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                    .register(registry);
+                FunctionCounter.builder("jdbc.limiter.rejected", limited, ConcurrencyLimitedDataSource::getRejected)
+                    .description("Connection requests refused because too many were waiting or the wait timed out")
+                    .register(registry);
+            }
+        };
+    }
+
+}
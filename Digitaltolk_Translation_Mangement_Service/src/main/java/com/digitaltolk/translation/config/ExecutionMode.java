@@ -0,0 +1,64 @@
+package com.digitaltolk.translation.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform or virtual threads, following Spring Boot's {@code spring.threads.virtual.enabled}.
+ * The same switch moves Tomcat request handling and the async executor used by streamed
+ * exports onto virtual threads; this class applies it to the executors the services create
+ * themselves.
+ *
+ * What counts is the JVM the application runs on, not the Java 17 the project compiles for:
+ * on a Java 21+ JVM the switch takes effect. On a Java 17 JVM it does nothing; Boot keeps its
+ * platform-thread executors and so does this class, which only logs a warning.
+ */
+@Component
+public class ExecutionMode {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionMode.class);
+
+    private final boolean virtual;
+
+    public ExecutionMode(Environment environment) {
+        this.virtual = virtualThreadsEnabled(environment);
+        if (requested(environment) && !virtual) {
+            log.warn("spring.threads.virtual.enabled has no effect on Java {}; virtual threads need a Java 21 JVM, using platform threads",
+                Runtime.version().feature());
+        }
+        log.info("Execution mode: {} threads", virtual ? "virtual" : "platform");
+    }
+
+    public static boolean virtualThreadsEnabled(Environment environment) {
+        return requested(environment) && Runtime.version().feature() >= 21;
+    }
+
+    public boolean isVirtual() { return virtual; }
+
+    /**
+     * Thread factory for a service-owned executor; pool sizes stay as configured either way,
+     * so they keep bounding how much work reaches the database at once.
+     */
+    public ThreadFactory threadFactory(String namePrefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static boolean requested(Environment environment) {
+        return environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+    }
+
+}
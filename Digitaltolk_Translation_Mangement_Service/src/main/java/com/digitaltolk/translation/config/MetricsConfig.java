@@ -0,0 +1,23 @@
+package com.digitaltolk.translation.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Value("${app.metrics.max-locale-tags:100}")
+    private int maxLocaleTags;
+
+    /**
+     * Locales come from request paths and parameters, so cap the distinct "locale" values
+     * on translation.* meters; meters for further values are not registered.
+     */
+    @Bean
+    public MeterFilter localeTagLimit() {
+        return MeterFilter.maximumAllowableTags("translation", "locale", maxLocaleTags, MeterFilter.deny());
+    }
+
+}
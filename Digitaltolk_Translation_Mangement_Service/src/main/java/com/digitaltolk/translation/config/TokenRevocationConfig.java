@@ -0,0 +1,32 @@
+package com.digitaltolk.translation.config;
+
+import com.digitaltolk.translation.security.InMemoryTokenRevocationStore;
+import com.digitaltolk.translation.security.TokenRevocationStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Kept out of SecurityConfig: the JWT filter needs the store, and SecurityConfig needs the
+ * filter, so declaring the store there makes the two beans depend on each other.
+ *
+ * <p>Registered as auto-configuration (META-INF/spring/...AutoConfiguration.imports) rather than
+ * component-scanned: auto-configurations are processed after the application's own beans, which
+ * is the only point where {@code @ConditionalOnMissingBean} reliably sees them.
+ */
+@AutoConfiguration
+public class TokenRevocationConfig {
+
+    // Replaced by any other TokenRevocationStore bean, e.g. one shared between instances
+    @Bean
+    @ConditionalOnMissingBean(TokenRevocationStore.class)
+    public TokenRevocationStore tokenRevocationStore(
+            @Value("${app.jwt.revocation.max-size:100000}") long maxSize,
+            @Value("${app.jwt.expiration:86400000}") long jwtExpirationMs) {
+        return new InMemoryTokenRevocationStore(maxSize, Duration.ofMillis(jwtExpirationMs));
+    }
+
+}
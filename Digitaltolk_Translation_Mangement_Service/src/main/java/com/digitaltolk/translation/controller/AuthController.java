@@ -4,9 +4,11 @@ package com.digitaltolk.translation.controller;
 import com.digitaltolk.translation.dto.AuthDto;
 import com.digitaltolk.translation.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,6 +26,19 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the bearer token, or all of the user's tokens with allSessions=true")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @Parameter(description = "Also revoke every other token issued to this user so far")
+            @RequestParam(defaultValue = "false") boolean allSessions) {
+        if (!authorization.startsWith("Bearer ")) {
+            throw new RuntimeException("Expected a Bearer token");
+        }
+        authService.logout(authorization.substring(7), allSessions);
+        return ResponseEntity.noContent().build();
+    }
+    
     @PostMapping("/register")
     @Operation(summary = "User registration")
     public ResponseEntity<AuthDto.AuthResponse> register(@Valid @RequestBody AuthDto.RegisterRequest request) {
@@ -1,8 +1,11 @@
 package com.digitaltolk.translation.controller;
-import com.digitaltolk.translation.service.DataSeederService;
+import com.digitaltolk.translation.dto.JobStatusDto;
+import com.digitaltolk.translation.service.BulkJobService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -13,17 +16,23 @@ import org.springframework.web.bind.annotation.*;
 @PreAuthorize("hasRole('ADMIN')")
 public class DataSeederController {
 	@Autowired
-    private DataSeederService dataSeederService;
+    private BulkJobService bulkJobService;
+    
+    @Value("${app.jobs.seed-max-count:1000000}")
+    private int maxSeedCount;
     
     @PostMapping("/seed/{count}")
-    @Operation(summary = "Seed database with test data")
-    public ResponseEntity<String> seedDatabase(@PathVariable int count) {
-        if (count > 100000) {
-            return ResponseEntity.badRequest().body("Maximum allowed count is 100,000");
+    @Operation(summary = "Seed database with test data in a background job")
+    public ResponseEntity<?> seedDatabase(
+            @PathVariable int count,
+            @Parameter(description = "Random seed; the same seed always produces the same data")
+            @RequestParam(defaultValue = "42") long seed) {
+        if (count < 1 || count > maxSeedCount) {
+            return ResponseEntity.badRequest().body("Count must be between 1 and " + maxSeedCount);
         }
         
-        dataSeederService.seedDatabase(count);
-        return ResponseEntity.ok("Database seeded with " + count + " records per locale");
+        JobStatusDto job = bulkJobService.submitSeed(count, seed).toStatus();
+        return ResponseEntity.accepted().body(job);
     }
 
 }
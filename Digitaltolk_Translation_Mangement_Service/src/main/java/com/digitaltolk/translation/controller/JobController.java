@@ -0,0 +1,55 @@
+package com.digitaltolk.translation.controller;
+
+import com.digitaltolk.translation.dto.JobStatusDto;
+import com.digitaltolk.translation.service.BulkJob;
+import com.digitaltolk.translation.service.BulkJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+@Tag(name = "Admin", description = "Administrative APIs")
+@PreAuthorize("hasRole('ADMIN')")
+public class JobController {
+	@Autowired
+    private BulkJobService bulkJobService;
+    
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import a JSON array or NDJSON body in a background job")
+    public ResponseEntity<JobStatusDto> submitImport(InputStream body) throws IOException {
+        JobStatusDto job = bulkJobService.submitImport(body).toStatus();
+        return ResponseEntity.accepted().body(job);
+    }
+    
+    @GetMapping
+    @Operation(summary = "List running and recently finished jobs")
+    public ResponseEntity<List<JobStatusDto>> getJobs() {
+        List<JobStatusDto> jobs = bulkJobService.getJobs().stream()
+            .map(BulkJob::toStatus)
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(jobs);
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get job progress: rows done, rate and ETA")
+    public ResponseEntity<JobStatusDto> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(bulkJobService.getJob(id).toStatus());
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a job; chunks already committed are kept")
+    public ResponseEntity<JobStatusDto> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(bulkJobService.cancel(id).toStatus());
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.digitaltolk.translation.controller;
+
+import com.digitaltolk.translation.dto.TagAssignmentDto;
+import com.digitaltolk.translation.dto.TagAssignmentResultDto;
+import com.digitaltolk.translation.service.TagService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tags")
+@Tag(name = "Tag Management", description = "APIs for tagging translations in bulk")
+@PreAuthorize("hasRole('ADMIN')")
+public class TagController {
+	
+	@Autowired
+    private TagService tagService;
+    
+    @PostMapping("/{name}/assign")
+    @Operation(summary = "Add a tag to every translation matching a key prefix, locale and/or id list")
+    public ResponseEntity<TagAssignmentResultDto> assign(@PathVariable String name,
+                                                         @Valid @RequestBody TagAssignmentDto selection) {
+        return ResponseEntity.ok(tagService.assign(validTagName(name), selection));
+    }
+    
+    @PostMapping("/{name}/unassign")
+    @Operation(summary = "Remove a tag from every translation matching a key prefix, locale and/or id list")
+    public ResponseEntity<TagAssignmentResultDto> unassign(@PathVariable String name,
+                                                           @Valid @RequestBody TagAssignmentDto selection) {
+        return ResponseEntity.ok(tagService.unassign(validTagName(name), selection));
+    }
+    
+    private static String validTagName(String name) {
+        if (name.isBlank() || name.length() > 100) {
+            throw new IllegalArgumentException("Tag name must be 1 to 100 characters");
+        }
+        return name;
+    }
+    
+}
@@ -1,6 +1,13 @@
 package com.digitaltolk.translation.controller;
 
+import com.digitaltolk.translation.dto.BatchPatchRequestDto;
+import com.digitaltolk.translation.dto.DeltaExportDto;
+import com.digitaltolk.translation.dto.ImportReportDto;
 import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.dto.TranslationSliceDto;
+import com.digitaltolk.translation.service.ExportSnapshot;
+import com.digitaltolk.translation.service.ExportSnapshotService;
+import com.digitaltolk.translation.service.TranslationImportService;
 import com.digitaltolk.translation.service.TranslationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,11 +16,17 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +39,12 @@ public class TranslationController {
 	@Autowired
     private TranslationService translationService;
     
+    @Autowired
+    private ExportSnapshotService exportSnapshotService;
+    
+    @Autowired
+    private TranslationImportService importService;
+    
     @PostMapping
     @Operation(summary = "Create a new translation")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
@@ -34,6 +53,38 @@ public class TranslationController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
     
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk import translations from a JSON array or NDJSON body (upsert by key and locale)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReportDto> importTranslations(InputStream body) throws IOException {
+        ImportReportDto report = importService.importTranslations(body);
+        return ResponseEntity.ok(report);
+    }
+    
+    @PostMapping(value = "/import/{locale}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk import a flat key to content JSON object for one locale (the export format)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReportDto> importLocale(@PathVariable String locale, InputStream body) throws IOException {
+        ImportReportDto report = importService.importLocale(locale, body);
+        return ResponseEntity.ok(report);
+    }
+    
+    @PutMapping("/upsert")
+    @Operation(summary = "Create or replace a translation by key and locale in one atomic write")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<TranslationDto> upsertTranslation(@Valid @RequestBody TranslationDto dto) {
+        TranslationDto saved = translationService.upsertTranslation(dto);
+        return ResponseEntity.ok(saved);
+    }
+    
+    @PatchMapping
+    @Operation(summary = "Apply up to 1000 content and tag changes by key and locale in one transaction")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<ImportReportDto.ChunkReport> patchTranslations(@Valid @RequestBody BatchPatchRequestDto request) {
+        ImportReportDto.ChunkReport report = translationService.patchTranslations(request.getPatches());
+        return ResponseEntity.ok(report);
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing translation")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
@@ -68,26 +119,113 @@ public class TranslationController {
             @Parameter(description = "Locale filter") @RequestParam(required = false) String locale,
             @Parameter(description = "Content filter") @RequestParam(required = false) String content,
             @Parameter(description = "Tag filters") @RequestParam(required = false) List<String> tags,
+            @Parameter(description = "Tag match mode: any or all") @RequestParam(defaultValue = "any") String tagMatch,
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Sort field") @RequestParam(defaultValue = "updatedAt") String sortBy,
+            @Parameter(description = "Sort field; keyId orders keys by creation") @RequestParam(defaultValue = "updatedAt") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
         
         Page<TranslationDto> results = translationService.searchTranslations(
-            key, locale, content, tags, page, size, sortBy, sortDir);
+            key, locale, content, tags, matchAllTags(tagMatch), page, size, sortBy, sortDir);
+        return ResponseEntity.ok(results);
+    }
+    
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search translations with keyset pagination (no total count, stable deep paging)")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<TranslationSliceDto> searchTranslationsKeyset(
+            @Parameter(description = "Translation key filter") @RequestParam(required = false) String key,
+            @Parameter(description = "Locale filter") @RequestParam(required = false) String locale,
+            @Parameter(description = "Content filter") @RequestParam(required = false) String content,
+            @Parameter(description = "Tag filters") @RequestParam(required = false) List<String> tags,
+            @Parameter(description = "Tag match mode: any or all") @RequestParam(defaultValue = "any") String tagMatch,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field: updatedAt, translationKey, keyId (key creation order) or id") @RequestParam(defaultValue = "updatedAt") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "nextCursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor) {
+        
+        if (size < 1 || size > 1000) {
+            throw new IllegalArgumentException("size must be between 1 and 1000");
+        }
+        TranslationSliceDto results = translationService.searchTranslationsKeyset(
+            key, locale, content, tags, matchAllTags(tagMatch), size, sortBy, sortDir, cursor);
         return ResponseEntity.ok(results);
     }
     
     @GetMapping("/export/{locale}")
     @Operation(summary = "Export translations for a specific locale as JSON")
-    public ResponseEntity<Map<String, String>> exportTranslations(
+    public ResponseEntity<?> exportTranslations(
+            @PathVariable String locale,
+            @Parameter(description = "Only return translations updated after this timestamp")
+            @RequestParam(required = false) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastUpdate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        if (lastUpdate != null) {
+            Map<String, String> translations = exportSnapshotService.getUpdatedSince(locale, lastUpdate);
+            return ResponseEntity.ok(translations);
+        }
+        
+        // Full exports are served from the pre-serialized snapshot; Spring answers
+        // If-None-Match / If-Modified-Since with 304 from the ETag and Last-Modified headers
+        ExportSnapshot snapshot = exportSnapshotService.getSnapshot(locale);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache().cachePublic())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+            .lastModified(snapshot.getLastModified())
+            .header("X-Export-Version", String.valueOf(snapshot.getVersion()));
+        
+        if (gzip) {
+            return response
+                .eTag(snapshot.getGzipETag())
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(snapshot.getGzipBody());
+        }
+        return response
+            .eTag(snapshot.getETag())
+            .body(snapshot.getBody());
+    }
+    
+    @GetMapping("/export/{locale}/delta")
+    @Operation(summary = "Export changes for a locale since a change log cursor (upserts and deletions)")
+    public ResponseEntity<DeltaExportDto> exportDelta(
+            @PathVariable String locale,
+            @Parameter(description = "Cursor returned by the previous call; omit or 0 for a full export")
+            @RequestParam(defaultValue = "0") long cursor,
+            @Parameter(description = "Maximum number of change log entries to apply")
+            @RequestParam(defaultValue = "5000") int limit) {
+        
+        if (limit < 1 || limit > 50000) {
+            throw new IllegalArgumentException("limit must be between 1 and 50000");
+        }
+        DeltaExportDto delta = translationService.exportDelta(locale, cursor, limit);
+        return ResponseEntity.ok(delta);
+    }
+    
+    @GetMapping("/export/{locale}/stream")
+    @Operation(summary = "Stream translations for a specific locale as JSON without building the full map in memory")
+    public ResponseEntity<StreamingResponseBody> streamTranslations(
             @PathVariable String locale,
             @Parameter(description = "Only return translations updated after this timestamp")
             @RequestParam(required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastUpdate) {
         
-        Map<String, String> translations = translationService.exportTranslations(locale, lastUpdate);
-        return ResponseEntity.ok(translations);
+        StreamingResponseBody body = out -> exportSnapshotService.streamExport(locale, lastUpdate, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+    
+    private static boolean matchAllTags(String tagMatch) {
+        if ("all".equalsIgnoreCase(tagMatch)) {
+            return true;
+        }
+        if ("any".equalsIgnoreCase(tagMatch)) {
+            return false;
+        }
+        throw new IllegalArgumentException("tagMatch must be 'any' or 'all'");
     }
     
     @GetMapping("/locales")
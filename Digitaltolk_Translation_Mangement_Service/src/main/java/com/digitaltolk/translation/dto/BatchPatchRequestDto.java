@@ -0,0 +1,21 @@
+package com.digitaltolk.translation.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchPatchRequestDto {
+	@NotEmpty(message = "At least one patch is required")
+    @Size(max = 1000, message = "At most 1000 patches per request")
+    private List<@Valid TranslationPatchDto> patches;
+
+    // Constructors
+    public BatchPatchRequestDto() {}
+
+    // Getters and Setters
+    public List<TranslationPatchDto> getPatches() { return patches; }
+    public void setPatches(List<TranslationPatchDto> patches) { this.patches = patches; }
+
+}
@@ -0,0 +1,51 @@
+package com.digitaltolk.translation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class DeltaExportDto {
+	private String locale;
+    
+    // Pass back as ?cursor= on the next call
+    private long cursor;
+    
+    // True when the client had no usable cursor and received the whole locale
+    private boolean full;
+    
+    private boolean hasMore;
+    private Map<String, String> upserts;
+    private List<String> deletes;
+    
+    // Constructors
+    public DeltaExportDto() {}
+    
+    public DeltaExportDto(String locale, long cursor, boolean full, boolean hasMore,
+                          Map<String, String> upserts, List<String> deletes) {
+        this.locale = locale;
+        this.cursor = cursor;
+        this.full = full;
+        this.hasMore = hasMore;
+        this.upserts = upserts;
+        this.deletes = deletes;
+    }
+    
+    // Getters and Setters
+    public String getLocale() { return locale; }
+    public void setLocale(String locale) { this.locale = locale; }
+    
+    public long getCursor() { return cursor; }
+    public void setCursor(long cursor) { this.cursor = cursor; }
+    
+    public boolean isFull() { return full; }
+    public void setFull(boolean full) { this.full = full; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    
+    public Map<String, String> getUpserts() { return upserts; }
+    public void setUpserts(Map<String, String> upserts) { this.upserts = upserts; }
+    
+    public List<String> getDeletes() { return deletes; }
+    public void setDeletes(List<String> deletes) { this.deletes = deletes; }
+
+}
@@ -0,0 +1,127 @@
+package com.digitaltolk.translation.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReportDto {
+	private static final int MAX_CHUNKS = 100;
+	
+    private long rows;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long rejected;
+    private int chunkCount;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    
+    // Most recent chunks only, so the report stays small for very large files
+    private List<ChunkReport> chunks = new ArrayList<>();
+    private List<String> errors = new ArrayList<>();
+
+    // Constructors
+    public ImportReportDto() {}
+
+    public void addChunk(ChunkReport chunk) {
+        chunk.setIndex(chunkCount++);
+        if (chunks.size() == MAX_CHUNKS) {
+            chunks.remove(0);
+        }
+        chunks.add(chunk);
+        rows += chunk.getRows();
+        inserted += chunk.getInserted();
+        updated += chunk.getUpdated();
+        unchanged += chunk.getUnchanged();
+    }
+
+    public void reject(String error, int maxErrors) {
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add(error);
+        }
+    }
+
+    public void finish(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+        this.rowsPerSecond = ratePerSecond(rows, elapsedMs);
+    }
+
+    public static long ratePerSecond(long rows, long elapsedMs) {
+        return elapsedMs > 0 ? rows * 1000 / elapsedMs : rows;
+    }
+
+    // Getters and Setters
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+
+    public long getUpdated() { return updated; }
+    public void setUpdated(long updated) { this.updated = updated; }
+
+    public long getUnchanged() { return unchanged; }
+    public void setUnchanged(long unchanged) { this.unchanged = unchanged; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public int getChunkCount() { return chunkCount; }
+    public void setChunkCount(int chunkCount) { this.chunkCount = chunkCount; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+    public long getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(long rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+
+    public List<ChunkReport> getChunks() { return chunks; }
+    public void setChunks(List<ChunkReport> chunks) { this.chunks = chunks; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+
+    public static class ChunkReport {
+        private int index;
+        private int rows;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private long elapsedMs;
+        private long rowsPerSecond;
+
+        public ChunkReport() {}
+
+        public ChunkReport(int rows, int inserted, int updated, int unchanged, long elapsedMs) {
+            this.rows = rows;
+            this.inserted = inserted;
+            this.updated = updated;
+            this.unchanged = unchanged;
+            this.elapsedMs = elapsedMs;
+            this.rowsPerSecond = ratePerSecond(rows, elapsedMs);
+        }
+
+        // Getters and setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public int getRows() { return rows; }
+        public void setRows(int rows) { this.rows = rows; }
+
+        public int getInserted() { return inserted; }
+        public void setInserted(int inserted) { this.inserted = inserted; }
+
+        public int getUpdated() { return updated; }
+        public void setUpdated(int updated) { this.updated = updated; }
+
+        public int getUnchanged() { return unchanged; }
+        public void setUnchanged(int unchanged) { this.unchanged = unchanged; }
+
+        public long getElapsedMs() { return elapsedMs; }
+        public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+        public long getRowsPerSecond() { return rowsPerSecond; }
+        public void setRowsPerSecond(long rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.digitaltolk.translation.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TagAssignmentDto {
+	// Selectors are combined with AND; at least one is required
+    @Size(max = 255, message = "Key prefix must not exceed 255 characters")
+    private String keyPrefix;
+
+    @Size(max = 10, message = "Locale must not exceed 10 characters")
+    private String locale;
+
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    private List<Long> ids;
+
+    // Constructors
+    public TagAssignmentDto() {}
+
+    public boolean hasSelector() {
+        return (keyPrefix != null && !keyPrefix.isEmpty())
+            || (locale != null && !locale.isEmpty())
+            || (ids != null && !ids.isEmpty());
+    }
+
+    // Getters and Setters
+    public String getKeyPrefix() { return keyPrefix; }
+    public void setKeyPrefix(String keyPrefix) { this.keyPrefix = keyPrefix; }
+
+    public String getLocale() { return locale; }
+    public void setLocale(String locale) { this.locale = locale; }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+}
@@ -0,0 +1,34 @@
+package com.digitaltolk.translation.dto;
+
+public class TagAssignmentResultDto {
+	private String tag;
+    private String operation;
+
+    // Translations whose links changed; already tagged (or untagged) ones are not counted
+    private long changed;
+    private long elapsedMs;
+
+    // Constructors
+    public TagAssignmentResultDto() {}
+
+    public TagAssignmentResultDto(String tag, String operation, long changed, long elapsedMs) {
+        this.tag = tag;
+        this.operation = operation;
+        this.changed = changed;
+        this.elapsedMs = elapsedMs;
+    }
+
+    // Getters and Setters
+    public String getTag() { return tag; }
+    public void setTag(String tag) { this.tag = tag; }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public long getChanged() { return changed; }
+    public void setChanged(long changed) { this.changed = changed; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+}
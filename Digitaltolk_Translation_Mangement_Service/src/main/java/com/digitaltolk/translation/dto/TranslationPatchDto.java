@@ -0,0 +1,48 @@
+package com.digitaltolk.translation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+public class TranslationPatchDto {
+	@NotBlank(message = "Translation key is required")
+    @Size(max = 255, message = "Translation key must not exceed 255 characters")
+    private String translationKey;
+
+    @NotBlank(message = "Locale is required")
+    @Size(max = 10, message = "Locale must not exceed 10 characters")
+    private String locale;
+
+    // Null keeps the stored content; required when the translation does not exist yet
+    private String content;
+
+    // Null keeps the current tags, an empty set removes them
+    private Set<String> tags;
+
+    // Constructors
+    public TranslationPatchDto() {}
+
+    public TranslationDto toTranslationDto() {
+        TranslationDto dto = new TranslationDto();
+        dto.setTranslationKey(translationKey);
+        dto.setLocale(locale);
+        dto.setContent(content);
+        dto.setTags(tags);
+        return dto;
+    }
+
+    // Getters and Setters
+    public String getTranslationKey() { return translationKey; }
+    public void setTranslationKey(String translationKey) { this.translationKey = translationKey; }
+
+    public String getLocale() { return locale; }
+    public void setLocale(String locale) { this.locale = locale; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public Set<String> getTags() { return tags; }
+    public void setTags(Set<String> tags) { this.tags = tags; }
+
+}
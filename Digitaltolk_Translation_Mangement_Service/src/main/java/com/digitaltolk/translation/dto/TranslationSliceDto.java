@@ -0,0 +1,37 @@
+package com.digitaltolk.translation.dto;
+
+import java.util.List;
+
+public class TranslationSliceDto {
+	private List<TranslationDto> content;
+    
+    // Opaque token for the next page; null on the last page
+    private String nextCursor;
+    
+    private boolean hasNext;
+    private int size;
+    
+    // Constructors
+    public TranslationSliceDto() {}
+    
+    public TranslationSliceDto(List<TranslationDto> content, String nextCursor, boolean hasNext, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.size = size;
+    }
+    
+    // Getters and Setters
+    public List<TranslationDto> getContent() { return content; }
+    public void setContent(List<TranslationDto> content) { this.content = content; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+}
@@ -0,0 +1,32 @@
+package com.digitaltolk.translation.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Last change log sequence number handed out for a locale.
+ */
+@Entity
+@Table(name = "translation_change_sequences")
+public class ChangeSequence {
+	@Id
+    @Column(length = 10)
+    private String locale;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+    
+    // Constructors
+    public ChangeSequence() {}
+    
+    public ChangeSequence(String locale) {
+        this.locale = locale;
+    }
+    
+    // Getters and Setters
+    public String getLocale() { return locale; }
+    public void setLocale(String locale) { this.locale = locale; }
+    
+    public long getLastSequence() { return lastSequence; }
+    public void setLastSequence(long lastSequence) { this.lastSequence = lastSequence; }
+
+}
@@ -15,20 +15,21 @@ import java.util.Set;
 
 @Entity
 @Table(name = "translations", indexes = {
-	    @Index(name = "idx_translation_key", columnList = "translationKey"),
 	    @Index(name = "idx_locale", columnList = "locale"),
-	    @Index(name = "idx_key_locale", columnList = "translationKey, locale", unique = true),
+	    // Also serves key_id lookups and the foreign key, as its leftmost column
+	    @Index(name = "idx_key_locale", columnList = "key_id, locale", unique = true),
 	    @Index(name = "idx_updated_at", columnList = "updatedAt")
 	})
+@EntityListeners(AuditingEntityListener.class)
 public class Translation {
 	@Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @NotBlank(message = "Translation key cannot be blank")
-    @Size(max = 255, message = "Translation key must not exceed 255 characters")
-    @Column(name = "translation_key", nullable = false)
-    private String translationKey;
+    @NotNull(message = "Translation key is required")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "key_id", nullable = false, foreignKey = @ForeignKey(name = "fk_translations_key"))
+    private TranslationKey dictionaryKey;
     
     @NotBlank(message = "Locale cannot be blank")
     @Size(max = 10, message = "Locale must not exceed 10 characters")
@@ -65,8 +66,8 @@ public class Translation {
     // Constructors
     public Translation() {}
     
-    public Translation(String translationKey, String locale, String content) {
-        this.translationKey = translationKey;
+    public Translation(TranslationKey dictionaryKey, String locale, String content) {
+        this.dictionaryKey = dictionaryKey;
         this.locale = locale;
         this.content = content;
     }
@@ -75,8 +76,11 @@ public class Translation {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     
-    public String getTranslationKey() { return translationKey; }
-    public void setTranslationKey(String translationKey) { this.translationKey = translationKey; }
+    public TranslationKey getDictionaryKey() { return dictionaryKey; }
+    public void setDictionaryKey(TranslationKey dictionaryKey) { this.dictionaryKey = dictionaryKey; }
+    
+    // The key string; queries that map many rows fetch-join dictionaryKey so this does not load it row by row
+    public String getTranslationKey() { return dictionaryKey != null ? dictionaryKey.getName() : null; }
     
     public String getLocale() { return locale; }
     public void setLocale(String locale) { this.locale = locale; }
@@ -0,0 +1,68 @@
+package com.digitaltolk.translation.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only change log entry. Sequence numbers are allocated per locale under a row lock
+ * on {@link ChangeSequence}, so they follow commit order and a client cursor never skips a change.
+ */
+@Entity
+@Table(name = "translation_changes", indexes = {
+    @Index(name = "idx_change_locale_sequence", columnList = "locale, sequence_number", unique = true)
+})
+public class TranslationChange {
+	@Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 10)
+    private String locale;
+    
+    @Column(name = "sequence_number", nullable = false)
+    private Long sequence;
+    
+    @Column(name = "translation_key", nullable = false)
+    private String translationKey;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Operation operation;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+    
+    public enum Operation {
+        UPSERT, DELETE
+    }
+    
+    // Constructors
+    public TranslationChange() {}
+    
+    public TranslationChange(String locale, String translationKey, Operation operation) {
+        this.locale = locale;
+        this.translationKey = translationKey;
+        this.operation = operation;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getLocale() { return locale; }
+    public void setLocale(String locale) { this.locale = locale; }
+    
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+    
+    public String getTranslationKey() { return translationKey; }
+    public void setTranslationKey(String translationKey) { this.translationKey = translationKey; }
+    
+    public Operation getOperation() { return operation; }
+    public void setOperation(Operation operation) { this.operation = operation; }
+    
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+
+}
@@ -0,0 +1,43 @@
+package com.digitaltolk.translation.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Key dictionary: each translation key string is stored once and referenced by id from every
+ * locale's row, so translations and its (key, locale) index hold an 8-byte id instead of the string.
+ * Rows are never deleted with their last translation; a key that comes back reuses its id.
+ */
+@Entity
+@Table(name = "translation_keys", indexes = {
+    @Index(name = "idx_translation_key_name", columnList = "name", unique = true)
+})
+public class TranslationKey {
+	
+	@Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank(message = "Translation key cannot be blank")
+    @Size(max = 255, message = "Translation key must not exceed 255 characters")
+    // Unique through idx_translation_key_name; a column-level unique would add a second index.
+    // Binary collation: keys are case- and accent-sensitive, so "Welcome" and "welcome" stay two keys
+    @Column(nullable = false, columnDefinition = "varchar(255) collate utf8mb4_bin")
+    private String name;
+    
+    // Constructors
+    public TranslationKey() {}
+    
+    public TranslationKey(String name) {
+        this.name = name;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+}
@@ -0,0 +1,41 @@
+package com.digitaltolk.translation.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by TranslationService whenever translations are created, updated or deleted.
+ * Listeners use it to refresh per-translation and per-locale derived state once the write has committed.
+ *
+ * <p>A change too large to list by id is published as {@link #allTranslations()}: listeners
+ * drop or rebuild their per-translation state instead of refreshing single ids.
+ */
+public class TranslationChangedEvent {
+
+    private final Set<Long> translationIds;
+    private final Set<String> locales;
+    private final boolean allTranslations;
+
+    public TranslationChangedEvent(Collection<Long> translationIds, Collection<String> locales) {
+        this(translationIds, locales, false);
+    }
+
+    private TranslationChangedEvent(Collection<Long> translationIds, Collection<String> locales, boolean allTranslations) {
+        this.translationIds = Set.copyOf(translationIds);
+        this.locales = Set.copyOf(locales);
+        this.allTranslations = allTranslations;
+    }
+
+    // Any translation may have changed; no ids or locales are listed
+    public static TranslationChangedEvent allTranslations() {
+        return new TranslationChangedEvent(List.of(), List.of(), true);
+    }
+
+    public Set<Long> getTranslationIds() { return translationIds; }
+
+    public Set<String> getLocales() { return locales; }
+
+    public boolean isAllTranslations() { return allTranslations; }
+
+}
@@ -0,0 +1,71 @@
+package com.digitaltolk.translation.repo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position of the last row of a keyset page: the value of the sort column plus the id as a
+ * tie-breaker. Serialized as an opaque URL-safe token that also pins the sort, so a cursor
+ * cannot be replayed against a differently ordered query.
+ */
+public class KeysetCursor {
+
+    public static final Set<String> SORTABLE_FIELDS = Set.of("updatedAt", "translationKey", "keyId", "id");
+
+    private final String sortBy;
+    private final boolean ascending;
+    private final Comparable<?> value;
+    private final long id;
+
+    public KeysetCursor(String sortBy, boolean ascending, Comparable<?> value, long id) {
+        this.sortBy = sortBy;
+        this.ascending = ascending;
+        this.value = value;
+        this.id = id;
+    }
+
+    public String getSortBy() { return sortBy; }
+
+    public boolean isAscending() { return ascending; }
+
+    public Comparable<?> getValue() { return value; }
+
+    public long getId() { return id; }
+
+    public String encode() {
+        String raw = sortBy + "|" + (ascending ? "asc" : "desc") + "|" + id + "|" + (value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token, String sortBy, boolean ascending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // Keys may contain '|', so the value is always the last, unsplit part
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !parts[0].equals(sortBy) || !parts[1].equals(ascending ? "asc" : "desc")) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            long id = Long.parseLong(parts[2]);
+            return new KeysetCursor(sortBy, ascending, parseValue(sortBy, parts[3], id), id);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static Comparable<?> parseValue(String sortBy, String value, long id) {
+        switch (sortBy) {
+            case "updatedAt":
+                return LocalDateTime.parse(value);
+            case "translationKey":
+                return value;
+            case "keyId":
+                return Long.parseLong(value);
+            default:
+                return id;
+        }
+    }
+
+}
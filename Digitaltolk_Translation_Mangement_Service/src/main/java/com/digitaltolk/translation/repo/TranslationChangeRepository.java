@@ -0,0 +1,20 @@
+package com.digitaltolk.translation.repo;
+
+import com.digitaltolk.translation.entity.TranslationChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TranslationChangeRepository extends JpaRepository<TranslationChange, Long> {
+
+    @Query("SELECT c FROM TranslationChange c WHERE c.locale = :locale AND c.sequence > :cursor ORDER BY c.sequence")
+    List<TranslationChange> findChangesAfter(@Param("locale") String locale,
+                                             @Param("cursor") long cursor,
+                                             Pageable pageable);
+
+}
@@ -0,0 +1,13 @@
+package com.digitaltolk.translation.repo;
+
+/**
+ * Scalar (key, content) projection used by the export paths so that rows are
+ * read without hydrating Translation entities into the persistence context.
+ */
+public interface TranslationEntryView {
+
+    String getTranslationKey();
+
+    String getContent();
+
+}
@@ -0,0 +1,44 @@
+package com.digitaltolk.translation.repo;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Search filters shared by the offset and keyset search queries. All non-null filters are combined with AND.
+ */
+public class TranslationFilter {
+
+    private final String key;
+    private final String locale;
+    private final String content;
+    private final Collection<Long> candidateIds;
+    private final Set<String> tagNames;
+    private final boolean matchAllTags;
+
+    /**
+     * @param candidateIds ids already narrowed down by the in-memory indexes, or null for no restriction
+     * @param tagNames     tags still to be filtered in the database (null when already applied through candidateIds)
+     */
+    public TranslationFilter(String key, String locale, String content, Collection<Long> candidateIds,
+                             Set<String> tagNames, boolean matchAllTags) {
+        this.key = key;
+        this.locale = locale;
+        this.content = content;
+        this.candidateIds = candidateIds;
+        this.tagNames = tagNames;
+        this.matchAllTags = matchAllTags;
+    }
+
+    public String getKey() { return key; }
+
+    public String getLocale() { return locale; }
+
+    public String getContent() { return content; }
+
+    public Collection<Long> getCandidateIds() { return candidateIds; }
+
+    public Set<String> getTagNames() { return tagNames; }
+
+    public boolean isMatchAllTags() { return matchAllTags; }
+
+}
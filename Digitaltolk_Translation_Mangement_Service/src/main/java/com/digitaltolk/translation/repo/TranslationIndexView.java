@@ -0,0 +1,14 @@
+package com.digitaltolk.translation.repo;
+
+/**
+ * Columns the in-process search index needs, read without hydrating entities.
+ */
+public interface TranslationIndexView {
+
+    Long getId();
+
+    String getTranslationKey();
+
+    String getContent();
+
+}
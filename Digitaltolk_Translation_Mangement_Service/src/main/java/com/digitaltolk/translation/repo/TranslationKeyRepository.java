@@ -0,0 +1,13 @@
+package com.digitaltolk.translation.repo;
+
+import com.digitaltolk.translation.entity.TranslationKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TranslationKeyRepository extends JpaRepository<TranslationKey, Long> {
+	Optional<TranslationKey> findByName(String name);
+
+}
@@ -1,39 +1,101 @@
 package com.digitaltolk.translation.repo;
 
 import com.digitaltolk.translation.entity.Translation;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 
-public interface TranslationRepository extends JpaRepository<Translation, Long>{
-Optional<Translation> findByTranslationKeyAndLocale(String translationKey, String locale);
+public interface TranslationRepository extends JpaRepository<Translation, Long>, TranslationRepositoryCustom {
+Optional<Translation> findByDictionaryKeyNameAndLocale(String translationKey, String locale);
+    
+    // For lookups that may run without a transaction, where a lazy key could not be loaded afterwards
+    @Query("SELECT t FROM Translation t JOIN FETCH t.dictionaryKey WHERE t.id = :id")
+    Optional<Translation> findWithKeyById(@Param("id") Long id);
     
-    List<Translation> findByLocale(String locale);
+    // Keys are fetched with the rows; the export maps every row to its key string
+    @Query("SELECT t FROM Translation t JOIN FETCH t.dictionaryKey WHERE t.locale = :locale")
+    List<Translation> findByLocale(@Param("locale") String locale);
     
-    @Query("SELECT t FROM Translation t WHERE t.locale = :locale AND t.updatedAt > :lastUpdate")
+    @Query("SELECT t FROM Translation t JOIN FETCH t.dictionaryKey WHERE t.locale = :locale AND t.updatedAt > :lastUpdate")
     List<Translation> findByLocaleAndUpdatedAfter(@Param("locale") String locale, 
                                                   @Param("lastUpdate") LocalDateTime lastUpdate);
     
-    @Query("SELECT t FROM Translation t JOIN t.tags tag WHERE tag.name IN :tagNames")
-    Page<Translation> findByTagNames(@Param("tagNames") List<String> tagNames, Pageable pageable);
+    // Forward-only cursors for the streaming export; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.dictionaryKey.name AS translationKey, t.content AS content FROM Translation t WHERE t.locale = :locale")
+    Stream<TranslationEntryView> streamByLocale(@Param("locale") String locale);
+    
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.dictionaryKey.name AS translationKey, t.content AS content FROM Translation t " +
+           "WHERE t.locale = :locale AND t.updatedAt > :lastUpdate")
+    Stream<TranslationEntryView> streamByLocaleAndUpdatedAfter(@Param("locale") String locale,
+                                                               @Param("lastUpdate") LocalDateTime lastUpdate);
+    
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.dictionaryKey.name AS translationKey, t.content AS content FROM Translation t")
+    Stream<TranslationIndexView> streamIndexEntries();
+    
+    @Query("SELECT t.id AS id, t.dictionaryKey.name AS translationKey, t.content AS content FROM Translation t WHERE t.id IN :ids")
+    List<TranslationIndexView> findIndexEntriesByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT t.dictionaryKey.name AS translationKey, t.content AS content FROM Translation t " +
+           "WHERE t.locale = :locale AND t.dictionaryKey.name IN :keys")
+    List<TranslationEntryView> findEntriesByLocaleAndKeys(@Param("locale") String locale,
+                                                          @Param("keys") Collection<String> keys);
+    
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS translationId, tag.name AS tagName FROM Translation t JOIN t.tags tag")
+    Stream<TranslationTagView> streamTagLinks();
+    
+    @Query("SELECT t.id AS translationId, tag.name AS tagName FROM Translation t JOIN t.tags tag WHERE t.id IN :ids")
+    List<TranslationTagView> findTagNamesByTranslationIds(@Param("ids") Collection<Long> ids);
+    
+    // Primary key order, so the read model can join rows with the id-ordered tag links in one pass
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.dictionaryKey.name AS translationKey, t.locale AS locale, t.content AS content, " +
+           "t.createdAt AS createdAt, t.updatedAt AS updatedAt FROM Translation t ORDER BY t.id")
+    Stream<TranslationRowView> streamRows();
+    
+    @Query("SELECT t.id AS id, t.dictionaryKey.name AS translationKey, t.locale AS locale, t.content AS content, " +
+           "t.createdAt AS createdAt, t.updatedAt AS updatedAt FROM Translation t WHERE t.id IN :ids")
+    List<TranslationRowView> findRowsByIds(@Param("ids") Collection<Long> ids);
     
-    @Query("SELECT t FROM Translation t WHERE " +
-           "(:key IS NULL OR t.translationKey LIKE %:key%) AND " +
-           "(:locale IS NULL OR t.locale = :locale) AND " +
-           "(:content IS NULL OR LOWER(t.content) LIKE LOWER(CONCAT('%', :content, '%')))")
-    Page<Translation> searchTranslations(@Param("key") String key,
-                                       @Param("locale") String locale,
-                                       @Param("content") String content,
-                                       Pageable pageable);
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS translationId, tag.name AS tagName FROM Translation t JOIN t.tags tag ORDER BY t.id")
+    Stream<TranslationTagView> streamTagLinksOrderedById();
     
     @Query("SELECT COUNT(t) FROM Translation t WHERE t.locale = :locale")
     long countByLocale(@Param("locale") String locale);
@@ -41,6 +103,6 @@ Optional<Translation> findByTranslationKeyAndLocale(String translationKey, Strin
     @Query("SELECT DISTINCT t.locale FROM Translation t")
     List<String> findAllLocales();
     
-    boolean existsByTranslationKeyAndLocale(String translationKey, String locale);
+    boolean existsByDictionaryKeyNameAndLocale(String translationKey, String locale);
 
 }
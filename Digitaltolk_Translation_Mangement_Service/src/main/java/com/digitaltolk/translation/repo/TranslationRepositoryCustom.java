@@ -0,0 +1,22 @@
+package com.digitaltolk.translation.repo;
+
+import com.digitaltolk.translation.entity.Translation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface TranslationRepositoryCustom {
+
+    /**
+     * Offset page over the filtered rows. The count query is skipped when the page itself
+     * shows the total (first page not full, or last page).
+     */
+    Page<Translation> search(TranslationFilter filter, Pageable pageable);
+
+    /**
+     * Keyset (seek) page: rows strictly after {@code after} in (sortBy, id) order, without a count query.
+     */
+    List<Translation> seek(TranslationFilter filter, String sortBy, boolean ascending, KeysetCursor after, int limit);
+
+}
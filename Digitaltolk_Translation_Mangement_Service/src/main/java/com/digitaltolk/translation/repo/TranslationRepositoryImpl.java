@@ -0,0 +1,191 @@
+package com.digitaltolk.translation.repo;
+
+import com.digitaltolk.translation.entity.Tag;
+import com.digitaltolk.translation.entity.Translation;
+import com.digitaltolk.translation.entity.TranslationKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria-based queries that @Query cannot express without one method per filter/sort combination.
+ */
+public class TranslationRepositoryImpl implements TranslationRepositoryCustom {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public Page<Translation> search(TranslationFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Translation> query = cb.createQuery(Translation.class);
+        Root<Translation> t = query.from(Translation.class);
+        Join<Translation, TranslationKey> key = fetchKey(t);
+        query.select(t)
+            .where(predicates(cb, query, t, key, filter).toArray(new Predicate[0]))
+            .orderBy(orders(cb, pageable.getSort(), t, key));
+
+        List<Translation> content = meterRegistry.timer("translation.search.query", "mode", "page")
+            .record(() -> entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList());
+
+        // getPage skips the count when the page itself shows the total
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> meterRegistry.timer("translation.search.count").record(() -> count(filter)));
+    }
+
+    @Override
+    public List<Translation> seek(TranslationFilter filter, String sortBy, boolean ascending,
+                                  KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Translation> query = cb.createQuery(Translation.class);
+        Root<Translation> t = query.from(Translation.class);
+        Join<Translation, TranslationKey> key = fetchKey(t);
+
+        Path<Comparable<Object>> sortPath = sortPath(t, key, sortBy);
+        List<Predicate> predicates = predicates(cb, query, t, key, filter);
+        if (after != null) {
+            predicates.add(after(cb, t, sortBy, sortPath, ascending, after));
+        }
+
+        Path<Long> id = t.get("id");
+        query.select(t)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy("id".equals(sortBy)
+                ? List.of(ascending ? cb.asc(id) : cb.desc(id))
+                : List.of(ascending ? cb.asc(sortPath) : cb.desc(sortPath), ascending ? cb.asc(id) : cb.desc(id)));
+
+        return meterRegistry.timer("translation.search.query", "mode", "cursor")
+            .record(() -> entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    private long count(TranslationFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Translation> t = query.from(Translation.class);
+        // Counting needs the key table only to filter on it
+        Join<Translation, TranslationKey> key = filter.getKey() != null ? t.join("dictionaryKey") : null;
+        query.select(cb.count(t))
+            .where(predicates(cb, query, t, key, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Predicate> predicates(CriteriaBuilder cb, AbstractQuery<?> query, Root<Translation> t,
+                                              Join<Translation, TranslationKey> key, TranslationFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getKey() != null) {
+            predicates.add(cb.like(key.get("name"), contains(filter.getKey()), LIKE_ESCAPE));
+        }
+        if (filter.getLocale() != null) {
+            predicates.add(cb.equal(t.get("locale"), filter.getLocale()));
+        }
+        if (filter.getContent() != null) {
+            predicates.add(cb.like(cb.lower(t.get("content")),
+                contains(filter.getContent().toLowerCase(Locale.ROOT)), LIKE_ESCAPE));
+        }
+        if (filter.getCandidateIds() != null) {
+            predicates.add(t.get("id").in(filter.getCandidateIds()));
+        }
+        if (filter.getTagNames() != null && !filter.getTagNames().isEmpty()) {
+            predicates.add(tagPredicate(cb, query, t, filter));
+        }
+        return predicates;
+    }
+
+    // Subqueries rather than a join, so a row matching several tags is returned once
+    private static Predicate tagPredicate(CriteriaBuilder cb, AbstractQuery<?> query,
+                                          Root<Translation> t, TranslationFilter filter) {
+        Subquery<Long> tagged = query.subquery(Long.class);
+        Root<Translation> inner = tagged.from(Translation.class);
+        Join<Translation, Tag> tag = inner.join("tags");
+
+        if (!filter.isMatchAllTags()) {
+            tagged.select(inner.get("id"))
+                .where(tag.get("name").in(filter.getTagNames()));
+            return t.get("id").in(tagged);
+        }
+
+        tagged.select(cb.countDistinct(tag.get("name")))
+            .where(cb.equal(inner.get("id"), t.get("id")), tag.get("name").in(filter.getTagNames()));
+        return cb.equal(tagged, (long) filter.getTagNames().size());
+    }
+
+    // (sort, id) > (value, lastId) for ascending, < for descending; the id breaks ties on equal sort values
+    @SuppressWarnings("unchecked")
+    private static Predicate after(CriteriaBuilder cb, Root<Translation> t, String sortBy,
+                                   Path<Comparable<Object>> sortPath, boolean ascending, KeysetCursor cursor) {
+        Path<Long> id = t.get("id");
+        if ("id".equals(sortBy)) {
+            return ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+        }
+
+        Comparable<Object> value = (Comparable<Object>) cursor.getValue();
+        Predicate beyond = ascending ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value);
+        Predicate tieBreak = cb.and(
+            cb.equal(sortPath, value),
+            ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId()));
+        return cb.or(beyond, tieBreak);
+    }
+
+    // Rows are mapped to DTOs with their key string, so the key comes in the same statement
+    @SuppressWarnings("unchecked")
+    private static Join<Translation, TranslationKey> fetchKey(Root<Translation> t) {
+        return (Join<Translation, TranslationKey>) t.<Translation, TranslationKey>fetch("dictionaryKey");
+    }
+
+    /**
+     * translationKey lives in the key table and sorts alphabetically by name; the unique index on
+     * translation_keys.name lets the database walk keys in order and join each to its rows through
+     * idx_key_locale. keyId sorts by translations.key_id (key creation order), which leads
+     * idx_key_locale and needs no join.
+     */
+    private static Path<Comparable<Object>> sortPath(Root<Translation> t, Join<Translation, TranslationKey> key,
+                                                     String property) {
+        switch (property) {
+            case "translationKey":
+                return key.get("name");
+            case "keyId":
+                return t.get("dictionaryKey").get("id");
+            default:
+                return t.get(property);
+        }
+    }
+
+    private static List<Order> orders(CriteriaBuilder cb, Sort sort, Root<Translation> t,
+                                      Join<Translation, TranslationKey> key) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Comparable<Object>> path = sortPath(t, key, order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        return orders;
+    }
+
+    private static String contains(String value) {
+        String escaped = value
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+}
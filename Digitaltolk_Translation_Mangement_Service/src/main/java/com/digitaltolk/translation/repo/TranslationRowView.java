@@ -0,0 +1,22 @@
+package com.digitaltolk.translation.repo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Every column of a translation except its tags and version, used to load the in-memory read model.
+ */
+public interface TranslationRowView {
+
+    Long getId();
+
+    String getTranslationKey();
+
+    String getLocale();
+
+    String getContent();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+}
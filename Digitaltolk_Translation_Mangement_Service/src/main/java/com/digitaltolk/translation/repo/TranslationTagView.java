@@ -0,0 +1,12 @@
+package com.digitaltolk.translation.repo;
+
+/**
+ * (translation id, tag name) pair used to load the tags of a whole page in one query.
+ */
+public interface TranslationTagView {
+
+    Long getTranslationId();
+
+    String getTagName();
+
+}
@@ -0,0 +1,73 @@
+package com.digitaltolk.translation.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bounded in-memory revocation list. Entries are dropped once every token they can match
+ * has expired on its own: a token id at that token's expiry, a per-user cutoff after one
+ * full token lifetime. Size it above the number of logouts expected within one token
+ * lifetime: past {@code maxSize} live entries some revocations are evicted, and those
+ * tokens become usable again until they expire.
+ */
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private final Cache<String, Instant> revokedTokens;
+    private final Cache<String, Instant> userCutoffs;
+
+    public InMemoryTokenRevocationStore(long maxSize, Duration tokenLifetime) {
+        this.revokedTokens = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new ExpireAt())
+            .build();
+        this.userCutoffs = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(tokenLifetime)
+            .build();
+    }
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+    }
+
+    @Override
+    public void revokeAll(String username, Instant issuedUpTo) {
+        Instant cutoff = issuedUpTo.truncatedTo(ChronoUnit.SECONDS);
+        userCutoffs.asMap().merge(username, cutoff, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId, String username, Instant issuedAt) {
+        if (tokenId != null && revokedTokens.getIfPresent(tokenId) != null) {
+            return true;
+        }
+        Instant cutoff = userCutoffs.getIfPresent(username);
+        // Tokens without iat cannot be placed before or after the cutoff, so they are revoked with it
+        return cutoff != null && (issuedAt == null || issuedAt.isBefore(cutoff));
+    }
+
+    // Each revoked id lives until the expiry of the token it names
+    private static class ExpireAt implements Expiry<String, Instant> {
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
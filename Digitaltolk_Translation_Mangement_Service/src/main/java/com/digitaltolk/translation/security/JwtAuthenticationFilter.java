@@ -1,13 +1,19 @@
 package com.digitaltolk.translation.security;
 
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,6 +22,10 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter{
@@ -25,17 +35,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private JwtPrincipalCache principalCache;
+    
+    @Autowired
+    private TokenRevocationStore revocationStore;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Build the principal from the token's roles claim instead of loading the user
+    @Value("${app.jwt.stateless:true}")
+    private boolean stateless;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
         String jwt = getJwtFromRequest(request);
+        UserDetails userDetails = StringUtils.hasText(jwt) ? authenticate(jwt) : null;
         
-        if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-            String username = tokenProvider.getUsernameFromToken(jwt);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            
+        if (userDetails != null) {
             UsernamePasswordAuthenticationToken authentication = 
                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -46,6 +67,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
         filterChain.doFilter(request, response);
     }
     
+    // Null when the token is invalid or revoked; signature checks and user lookups happen on cache misses only
+    private UserDetails authenticate(String jwt) {
+        VerifiedToken verified = principalCache.get(jwt);
+        if (verified == null) {
+            verified = verify(jwt);
+            if (verified == null) {
+                return null;
+            }
+            principalCache.put(jwt, verified);
+        }
+        
+        if (revocationStore.isRevoked(verified.getTokenId(), verified.getUser().getUsername(), verified.getIssuedAt())) {
+            meterRegistry.counter("security.jwt.revoked").increment();
+            return null;
+        }
+        return verified.getUser();
+    }
+    
+    private VerifiedToken verify(String jwt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<Claims> parsed = tokenProvider.parseClaims(jwt);
+        sample.stop(meterRegistry.timer("security.jwt.validation", "result", parsed.isPresent() ? "valid" : "invalid"));
+        if (parsed.isEmpty()) {
+            return null;
+        }
+        
+        Claims claims = parsed.get();
+        Optional<List<GrantedAuthority>> authorities = stateless ? tokenProvider.getAuthorities(claims) : Optional.empty();
+        UserDetails userDetails;
+        if (authorities.isPresent()) {
+            userDetails = User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(authorities.get())
+                .build();
+        } else {
+            // Stateful mode, or a token issued before the roles claim existed
+            Timer.Sample lookup = Timer.start(meterRegistry);
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            lookup.stop(meterRegistry.timer("security.user.lookup"));
+        }
+        return new VerifiedToken(userDetails, claims.getId(), toInstant(claims.getIssuedAt()), toInstant(claims.getExpiration()));
+    }
+    
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
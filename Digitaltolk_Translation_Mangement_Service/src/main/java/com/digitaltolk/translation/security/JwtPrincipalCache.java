@@ -0,0 +1,90 @@
+package com.digitaltolk.translation.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Verified tokens mapped to their principal, so repeat requests with the same token skip both
+ * the HMAC check and, outside stateless mode, the user lookup. Entries expire when the token
+ * does, or after {@code app.jwt.cache.max-ttl} if sooner, which bounds how long a role change
+ * or deactivation takes to apply. Keys are SHA-256 hashes, so raw bearer tokens are not kept.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final Cache<String, VerifiedToken> cache;
+    private final long maxTtlNanos;
+
+    public JwtPrincipalCache(@Value("${app.jwt.cache.max-size:10000}") long maxSize,
+                             @Value("${app.jwt.cache.max-ttl:5m}") Duration maxTtl,
+                             MeterRegistry meterRegistry) {
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                    return ttlNanos(token);
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return ttlNanos(token);
+                }
+
+                @Override
+                public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtPrincipals");
+    }
+
+    public VerifiedToken get(String token) {
+        return cache.getIfPresent(hash(token));
+    }
+
+    /**
+     * Only tokens that passed verification may be put here; invalid ones are never cached,
+     * so garbage tokens cannot fill the cache.
+     */
+    public void put(String token, VerifiedToken verified) {
+        if (verified.getExpiresAt() == null) {
+            return;
+        }
+        cache.put(hash(token), verified);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private long ttlNanos(VerifiedToken token) {
+        long untilExpiry = Duration.between(Instant.now(), token.getExpiresAt()).toNanos();
+        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+}
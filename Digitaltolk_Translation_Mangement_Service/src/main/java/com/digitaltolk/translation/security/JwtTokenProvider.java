@@ -4,52 +4,92 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
-private final SecretKey jwtSecret;
+	// HS512 rejects keys shorter than its 512-bit output at signing time
+    private static final int MIN_SECRET_BYTES = 64;
+    
+    public static final String ROLES_CLAIM = "roles";
+    
+    private final SecretKey jwtSecret;
+    
+    // Immutable and thread-safe; building one per call repeated the key setup on every request
+    private final JwtParser jwtParser;
     
     @Value("${app.jwt.expiration:86400000}") // 24 hours
     private long jwtExpirationMs;
     
     public JwtTokenProvider(@Value("${app.jwt.secret:mySecretKey}") String secret) {
-        this.jwtSecret = Keys.hmacShaKeyFor(secret.getBytes());
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.jwt.secret must be at least " + MIN_SECRET_BYTES + " bytes for HS512");
+        }
+        this.jwtSecret = Keys.hmacShaKeyFor(secretBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(jwtSecret).build();
     }
     
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationMs);
         
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        
+        // The id lets a single token be revoked; the roles let requests authorize without a user lookup
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(jwtSecret, SignatureAlgorithm.HS512)
                 .compact();
     }
     
+    /**
+     * Verifies signature and expiry once and returns the claims; empty when the token is invalid.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        try {
+            return Optional.of(jwtParser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Authorities carried in the token, or empty when it predates the roles claim.
+     */
+    public Optional<List<GrantedAuthority>> getAuthorities(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof Collection<?> names)) {
+            return Optional.empty();
+        }
+        return Optional.of(names.stream()
+                .map(name -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(name)))
+                .toList());
+    }
+    
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
     
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(jwtSecret).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseClaims(token).isPresent();
     }
 
 }
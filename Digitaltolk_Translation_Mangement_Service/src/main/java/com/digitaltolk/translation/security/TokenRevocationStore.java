@@ -0,0 +1,27 @@
+package com.digitaltolk.translation.security;
+
+import java.time.Instant;
+
+/**
+ * Revoked tokens, consulted on every authenticated request. The default
+ * {@link InMemoryTokenRevocationStore} is per instance; declare another bean of this type
+ * (e.g. backed by a shared store) to make logout effective across instances.
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * Revokes a single token until it would have expired anyway.
+     */
+    void revoke(String tokenId, Instant expiresAt);
+
+    /**
+     * Revokes every token of the user issued before the given instant, e.g. after a role
+     * change or a "log out everywhere". JWT issue times have whole-second precision, so the
+     * cutoff is rounded down to the second: a token issued within that second, such as one
+     * from logging in again right away, stays valid.
+     */
+    void revokeAll(String username, Instant issuedUpTo);
+
+    boolean isRevoked(String tokenId, String username, Instant issuedAt);
+
+}
@@ -0,0 +1,34 @@
+package com.digitaltolk.translation.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+/**
+ * A token whose signature and expiry have been checked, with the principal it resolves to.
+ * Revocation is checked separately on every request, since it can change after verification.
+ */
+public class VerifiedToken {
+
+    private final UserDetails user;
+    // Null for tokens issued before token ids were added
+    private final String tokenId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public VerifiedToken(UserDetails user, String tokenId, Instant issuedAt, Instant expiresAt) {
+        this.user = user;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public UserDetails getUser() { return user; }
+
+    public String getTokenId() { return tokenId; }
+
+    public Instant getIssuedAt() { return issuedAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+
+}
@@ -3,6 +3,8 @@ import com.digitaltolk.translation.dto.AuthDto;
 import com.digitaltolk.translation.entity.User;
 import com.digitaltolk.translation.repo.UserRepository;
 import com.digitaltolk.translation.security.JwtTokenProvider;
+import com.digitaltolk.translation.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -11,6 +13,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+
 @Service
 @Transactional
 public class AuthService {
@@ -26,6 +30,9 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
     
+    @Autowired
+    private TokenRevocationStore revocationStore;
+    
     public AuthDto.AuthResponse login(AuthDto.LoginRequest request) {
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
@@ -37,6 +44,25 @@ public class AuthService {
         return new AuthDto.AuthResponse(token, user.getEmail(), user.getFullName());
     }
     
+    /**
+     * Revokes the given token, or with {@code allSessions} every token of its user issued so far.
+     */
+    public void logout(String token, boolean allSessions) {
+        Claims claims = tokenProvider.parseClaims(token)
+            .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
+        
+        if (claims.getId() != null) {
+            revocationStore.revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+        if (allSessions) {
+            // Misses other tokens issued within the current second; the one presented is revoked above
+            revocationStore.revokeAll(claims.getSubject(), Instant.now());
+        } else if (claims.getId() == null) {
+            // Tokens from before token ids existed can only be revoked by issue time
+            revocationStore.revokeAll(claims.getSubject(), claims.getIssuedAt().toInstant().plusSeconds(1));
+        }
+    }
+    
     public AuthDto.AuthResponse register(AuthDto.RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists: " + request.getEmail());
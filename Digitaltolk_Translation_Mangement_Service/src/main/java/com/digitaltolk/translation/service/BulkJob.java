@@ -0,0 +1,124 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.JobStatusDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A seed or import job tracked by {@link BulkJobService}. Work code reports progress with
+ * {@link #addRows(long)} and checks {@link #isCancelRequested()} between chunks, so a
+ * cancelled job stops at the next chunk boundary with everything before it committed.
+ */
+public class BulkJob {
+
+    public enum Type {
+        SEED, IMPORT
+    }
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final String id;
+    private final Type type;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicLong rowsDone = new AtomicLong();
+    // Runs once when the job ends, whether it ran, failed or was cancelled in the queue
+    private final AtomicReference<Runnable> onFinish = new AtomicReference<>();
+
+    // Null when the size is not known up front (imports)
+    private volatile Long totalRows;
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    public BulkJob(String id, Type type, Long totalRows) {
+        this.id = id;
+        this.type = type;
+        this.totalRows = totalRows;
+    }
+
+    public void addRows(long rows) {
+        rowsDone.addAndGet(rows);
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested || Thread.currentThread().isInterrupted();
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void finished(State finalState, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = finalState;
+        Runnable cleanup = onFinish.getAndSet(null);
+        if (cleanup != null) {
+            cleanup.run();
+        }
+    }
+
+    void onFinish(Runnable cleanup) {
+        onFinish.set(cleanup);
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public JobStatusDto toStatus() {
+        JobStatusDto status = new JobStatusDto();
+        status.setId(id);
+        status.setType(type.name());
+        status.setState(state.name());
+        status.setRowsDone(rowsDone.get());
+        status.setTotalRows(totalRows);
+        status.setSubmittedAt(submittedAt);
+        status.setStartedAt(startedAt);
+        status.setFinishedAt(finishedAt);
+        status.setError(error);
+
+        if (startedAt != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long elapsedMs = Math.max(1, Duration.between(startedAt, end).toMillis());
+            long rate = rowsDone.get() * 1000 / elapsedMs;
+            status.setRowsPerSecond(rate);
+            if (state == State.RUNNING && totalRows != null && rate > 0) {
+                status.setEtaSeconds(Math.max(0, totalRows - rowsDone.get()) / rate);
+            }
+        }
+        return status;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+
+    public Type getType() { return type; }
+
+    public Instant getSubmittedAt() { return submittedAt; }
+
+    public State getState() { return state; }
+
+    public Long getTotalRows() { return totalRows; }
+    public void setTotalRows(Long totalRows) { this.totalRows = totalRows; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+
+    Future<?> getFuture() { return future; }
+    void setFuture(Future<?> future) { this.future = future; }
+
+}
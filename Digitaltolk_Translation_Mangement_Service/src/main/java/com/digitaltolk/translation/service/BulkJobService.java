@@ -0,0 +1,165 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.config.ExecutionMode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Runs seed and import jobs off the request thread on a small bounded executor, so long
+ * bulk work holds at most {@code app.jobs.max-concurrent} threads and database connections.
+ * Jobs commit in chunks as they go; finished jobs are kept for {@code app.jobs.retention}.
+ */
+@Service
+public class BulkJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobService.class);
+
+    @Autowired
+    private DataSeederService dataSeederService;
+
+    @Autowired
+    private TranslationImportService importService;
+
+    @Value("${app.jobs.retention:1h}")
+    private Duration retention;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkJobService(ExecutionMode executionMode,
+                          @Value("${app.jobs.max-concurrent:2}") int maxConcurrent,
+                          @Value("${app.jobs.queue-capacity:10}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), executionMode.threadFactory("bulk-job-"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public BulkJob submitSeed(int recordCount, long seed) {
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), BulkJob.Type.SEED, dataSeederService.totalRows(recordCount));
+        return submit(job, () -> dataSeederService.seedDatabase(recordCount, seed, job));
+    }
+
+    /**
+     * Spools the body to a temporary file first: the job outlives the request, and the
+     * file is read back with the same streaming parser as a synchronous import. The file
+     * is deleted when the job ends, including a job cancelled before it ever started.
+     */
+    public BulkJob submitImport(InputStream body) throws IOException {
+        Path file = Files.createTempFile("translation-import-", ".json");
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            BulkJob job = new BulkJob(UUID.randomUUID().toString(), BulkJob.Type.IMPORT, null);
+            job.onFinish(() -> deleteSpool(file));
+            return submit(job, () -> {
+                try (InputStream in = Files.newInputStream(file)) {
+                    importService.importTranslations(in, job);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    public BulkJob getJob(String id) {
+        BulkJob job = jobs.get(id);
+        if (job == null) {
+            throw new RuntimeException("Job not found with id: " + id);
+        }
+        return job;
+    }
+
+    public List<BulkJob> getJobs() {
+        pruneFinished();
+        return jobs.values().stream()
+            .sorted(Comparator.comparing(BulkJob::getSubmittedAt).reversed())
+            .collect(Collectors.toList());
+    }
+
+    public BulkJob cancel(String id) {
+        BulkJob job = getJob(id);
+        cancel(job);
+        return job;
+    }
+
+    // Queued jobs end here and now, so their cleanup runs even though the executor never starts them
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(this::cancel);
+        executor.shutdown();
+    }
+
+    private void cancel(BulkJob job) {
+        job.requestCancel();
+        // A job still in the queue never starts; a running one stops at its next chunk
+        if (job.getState() == BulkJob.State.QUEUED && job.getFuture() != null && job.getFuture().cancel(false)) {
+            job.finished(BulkJob.State.CANCELLED, null);
+        }
+    }
+
+    private BulkJob submit(BulkJob job, JobWork work) {
+        pruneFinished();
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, work)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new RejectedExecutionException("Job queue is full, retry later");
+        }
+        log.info("Job {} ({}) queued", job.getId(), job.getType());
+        return job;
+    }
+
+    private void run(BulkJob job, JobWork work) {
+        if (job.isCancelRequested()) {
+            job.finished(BulkJob.State.CANCELLED, null);
+            return;
+        }
+        job.started();
+        log.info("Job {} ({}) started", job.getId(), job.getType());
+        try {
+            work.run();
+            job.finished(job.isCancelRequested() ? BulkJob.State.CANCELLED : BulkJob.State.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("Job {} ({}) failed", job.getId(), job.getType(), e);
+            job.finished(BulkJob.State.FAILED, e.getMessage());
+        }
+        log.info("Job {} ({}) {}: {} rows", job.getId(), job.getType(), job.getState(), job.toStatus().getRowsDone());
+    }
+
+    private void deleteSpool(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private void pruneFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private interface JobWork {
+        void run() throws Exception;
+    }
+
+}
@@ -0,0 +1,557 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.ImportReportDto;
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.entity.TranslationChange;
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a chunk of translations with plain JDBC batches. IDENTITY ids make Hibernate insert
+ * row by row, so rows and tag links go out as batched statements instead, with one lookup per
+ * chunk to find what already exists.
+ *
+ * <p>New and changed rows are written with one native upsert per chunk ({@code ON DUPLICATE KEY
+ * UPDATE} on MySQL, {@code MERGE} on H2), and so are new keys. A concurrent writer that inserts
+ * the same (key, locale) first turns this writer's insert into an update, not a constraint error.
+ */
+@Component
+public class BulkTranslationWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkTranslationWriter.class);
+
+    private static final String SELECT_EXISTING =
+        "SELECT t.id, t.key_id, k.name AS translation_key, t.locale, t.content FROM translations t " +
+        "JOIN translation_keys k ON k.id = t.key_id WHERE t.locale IN (:locales) AND k.name IN (:keys)";
+    private static final String SELECT_KEYS = "SELECT id, name FROM translation_keys WHERE name IN (:names)";
+    private static final String SELECT_IDS =
+        "SELECT id, key_id, locale FROM translations WHERE locale IN (:locales) AND key_id IN (:keyIds)";
+    private static final String SELECT_TAG_LINKS =
+        "SELECT translation_id, tag_id FROM translation_tags WHERE translation_id IN (:ids)";
+
+    // Parameters for both dialects: key_id, locale, content, created_at, updated_at.
+    // LAST_INSERT_ID(id) makes MySQL report an updated row's id as the generated key as well.
+    private static final String MYSQL_UPSERT_TRANSLATION =
+        "INSERT INTO translations (key_id, locale, content, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, 0) " +
+        "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), content = VALUES(content), updated_at = VALUES(updated_at), " +
+        "version = version + 1";
+    private static final String H2_UPSERT_TRANSLATION =
+        "MERGE INTO translations t USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), " +
+        "CAST(? AS CHARACTER LARGE OBJECT), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+        "AS s (key_id, locale, content, created_at, updated_at) ON t.key_id = s.key_id AND t.locale = s.locale " +
+        "WHEN MATCHED THEN UPDATE SET content = s.content, updated_at = s.updated_at, version = t.version + 1 " +
+        "WHEN NOT MATCHED THEN INSERT (key_id, locale, content, created_at, updated_at, version) " +
+        "VALUES (s.key_id, s.locale, s.content, s.created_at, s.updated_at, 0)";
+    // Version 0 only on a row the MERGE inserted
+    private static final String H2_UPSERT_TRANSLATION_RETURNING =
+        "SELECT id, version FROM FINAL TABLE (" + H2_UPSERT_TRANSLATION + ")";
+    private static final String MYSQL_UPSERT_KEY =
+        "INSERT INTO translation_keys (name) VALUES (?) ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)";
+    private static final String H2_UPSERT_KEY =
+        "MERGE INTO translation_keys k USING (VALUES (CAST(? AS VARCHAR(255)))) AS s (name) ON k.name = s.name " +
+        "WHEN NOT MATCHED THEN INSERT (name) VALUES (s.name)";
+    private static final String H2_UPSERT_KEY_RETURNING =
+        "SELECT id FROM FINAL TABLE (MERGE INTO translation_keys k USING (VALUES (CAST(? AS VARCHAR(255)))) AS s (name) " +
+        "ON k.name = s.name WHEN MATCHED THEN UPDATE SET name = s.name WHEN NOT MATCHED THEN INSERT (name) VALUES (s.name))";
+    private static final String DELETE_TAG_LINKS = "DELETE FROM translation_tags WHERE translation_id IN (:ids)";
+    private static final String TOUCH_TRANSLATIONS =
+        "UPDATE translations SET updated_at = :now, version = version + 1 WHERE id IN (:ids)";
+    private static final String DELETE_TAG_LINK = "DELETE FROM translation_tags WHERE translation_id = ? AND tag_id = ?";
+    private static final String INSERT_TAG_LINK = "INSERT INTO translation_tags (translation_id, tag_id) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TagRegistry tagRegistry;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SqlDialect dialect;
+    private String upsertTranslationSql;
+    private String upsertKeySql;
+
+    @PostConstruct
+    public void selectDialect() {
+        dialect = SqlDialect.of(jdbcTemplate);
+        upsertTranslationSql = dialect.pick(MYSQL_UPSERT_TRANSLATION, H2_UPSERT_TRANSLATION);
+        upsertKeySql = dialect.pick(MYSQL_UPSERT_KEY, H2_UPSERT_KEY);
+    }
+
+    /**
+     * Upserts one chunk in the caller's transaction (or a new one). Rows repeating a
+     * (key, locale) pair within the chunk collapse to the last occurrence; rows whose
+     * content and tags already match are left untouched. A row without content only
+     * changes the tags of an existing translation and fails the chunk if there is none.
+     * Its content is never written back: the lookup does not lock, and a concurrent update
+     * of the content must not be undone by a tags-only change.
+     */
+    @Transactional
+    public ImportReportDto.ChunkReport write(List<TranslationDto> chunk) {
+        long started = System.nanoTime();
+
+        Map<String, TranslationDto> rows = new LinkedHashMap<>();
+        for (TranslationDto dto : chunk) {
+            rows.put(rowKey(dto.getLocale(), dto.getTranslationKey()), dto);
+        }
+
+        Map<String, ExistingRow> existing = findExisting(rows.values());
+        long tagsStarted = System.nanoTime();
+        Map<String, Long> tagIds = resolveTags(rows.values());
+        meterRegistry.timer("translation.tags.resolve", "operation", "import")
+            .record(System.nanoTime() - tagsStarted, TimeUnit.NANOSECONDS);
+        Map<Long, Set<Long>> currentLinks = findTagLinks(existing.values().stream().map(row -> row.id).toList());
+
+        List<TranslationDto> inserts = new ArrayList<>();
+        List<ExistingRow> updates = new ArrayList<>();
+        List<ExistingRow> retagged = new ArrayList<>();
+        // By row key, since new rows get their id only once written
+        Map<String, Set<Long>> wantedLinks = new HashMap<>();
+        for (Map.Entry<String, TranslationDto> entry : rows.entrySet()) {
+            TranslationDto dto = entry.getValue();
+            ExistingRow row = existing.get(entry.getKey());
+            Set<Long> wantedTags = dto.getTags() != null ? tagIdsFor(dto.getTags(), tagIds) : null;
+            if (row == null) {
+                if (dto.getContent() == null) {
+                    throw new RuntimeException("Translation not found for key '" + dto.getTranslationKey()
+                        + "' and locale '" + dto.getLocale() + "'");
+                }
+                inserts.add(dto);
+                if (wantedTags != null) {
+                    wantedLinks.put(entry.getKey(), wantedTags);
+                }
+                continue;
+            }
+            // A row without content keeps its content, one without tags its current links
+            boolean tagsChanged = wantedTags != null && !wantedTags.equals(currentLinks.getOrDefault(row.id, Set.of()));
+            if (dto.getContent() != null && !row.content.equals(dto.getContent())) {
+                row.content = dto.getContent();
+                updates.add(row);
+            } else if (tagsChanged) {
+                retagged.add(row);
+            }
+            if (tagsChanged) {
+                wantedLinks.put(entry.getKey(), wantedTags);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<String, Long> keyIds = resolveKeys(inserts);
+        List<UpsertRow> upserts = upsert(inserts, keyIds, updates, now);
+        Map<String, Long> ids = findIds(upserts);
+        touch(retagged, now);
+
+        // A row deleted since the lookup was inserted again under a new id: it gets the links it
+        // had, or the wanted ones, instead of a diff against links that went with the old row
+        Map<Long, Set<Long>> diffedLinks = new HashMap<>();
+        Map<Long, Set<Long>> replacedLinks = new HashMap<>();
+        for (UpsertRow row : upserts) {
+            long id = ids.get(row.rowKey);
+            ExistingRow before = existing.get(row.rowKey);
+            Set<Long> wanted = wantedLinks.get(row.rowKey);
+            if (before != null && before.id == id) {
+                if (wanted != null) {
+                    diffedLinks.put(id, wanted);
+                }
+            } else if (wanted != null || before != null) {
+                replacedLinks.put(id, wanted != null ? wanted : currentLinks.getOrDefault(before.id, Set.of()));
+            }
+        }
+        for (ExistingRow row : retagged) {
+            diffedLinks.put(row.id, wantedLinks.get(rowKey(row.locale, row.key)));
+        }
+        replaceTagLinks(diffedLinks, replacedLinks, currentLinks);
+
+        List<Long> changedIds = new ArrayList<>(ids.values());
+        retagged.forEach(row -> changedIds.add(row.id));
+        List<ExistingRow> updated = new ArrayList<>(updates);
+        updated.addAll(retagged);
+        List<TranslationChange> changes = new ArrayList<>();
+        Set<String> locales = new HashSet<>();
+        for (TranslationDto dto : inserts) {
+            changes.add(new TranslationChange(dto.getLocale(), dto.getTranslationKey(), TranslationChange.Operation.UPSERT));
+            locales.add(dto.getLocale());
+        }
+        for (ExistingRow row : updated) {
+            changes.add(new TranslationChange(row.locale, row.key, TranslationChange.Operation.UPSERT));
+            locales.add(row.locale);
+        }
+        if (!changes.isEmpty()) {
+            changeLogService.record(changes);
+            eventPublisher.publishEvent(new TranslationChangedEvent(changedIds, locales));
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        long elapsedMs = elapsedNanos / 1_000_000;
+        int unchanged = rows.size() - inserts.size() - updated.size();
+        // rate(translation_import_rows_total) gives rows/s; the chunk timer gives per-batch cost
+        meterRegistry.timer("translation.import.chunk").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("translation.import.rows", "outcome", "inserted").increment(inserts.size());
+        meterRegistry.counter("translation.import.rows", "outcome", "updated").increment(updated.size());
+        meterRegistry.counter("translation.import.rows", "outcome", "unchanged").increment(unchanged);
+        ImportReportDto.ChunkReport report = new ImportReportDto.ChunkReport(
+            chunk.size(), inserts.size(), updated.size(), unchanged, elapsedMs);
+        log.info("Bulk chunk: {} rows ({} inserted, {} updated, {} unchanged) in {} ms, {} rows/s",
+            chunk.size(), inserts.size(), updated.size(), unchanged, elapsedMs, report.getRowsPerSecond());
+        return report;
+    }
+
+    /**
+     * Upserts a single translation without the chunk pipeline: one statement for the key and
+     * one for the row, each returning the id, so nothing is looked up before or read back
+     * after. The row is written even if nothing changed. The result is the request with the
+     * id and timestamps set; {@code createdAt} only when the row was inserted, and tags only
+     * when the request replaced them.
+     */
+    @Transactional
+    public TranslationDto upsert(TranslationDto dto) {
+        long started = System.nanoTime();
+        Map<String, Long> tagIds = dto.getTags() != null && !dto.getTags().isEmpty()
+            ? tagRegistry.resolve(dto.getTags()) : Map.of();
+        LocalDateTime now = LocalDateTime.now();
+
+        long keyId = dialect.upsert(() -> upsertKey(dto.getTranslationKey()));
+        UpsertedRow row = dialect.upsert(() -> upsertRow(keyId, dto, Timestamp.valueOf(now)));
+        if (dto.getTags() != null) {
+            // The upsert holds the row lock, so its links can be diffed like a chunk's
+            Map<Long, Set<Long>> currentLinks = row.inserted ? Map.of() : findTagLinks(List.of(row.id));
+            replaceTagLinks(Map.of(row.id, new HashSet<>(tagIds.values())), Map.of(), currentLinks);
+        }
+
+        changeLogService.record(List.of(
+            new TranslationChange(dto.getLocale(), dto.getTranslationKey(), TranslationChange.Operation.UPSERT)));
+        eventPublisher.publishEvent(new TranslationChangedEvent(List.of(row.id), Set.of(dto.getLocale())));
+        meterRegistry.timer("translation.upsert", "outcome", row.inserted ? "inserted" : "updated")
+            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        TranslationDto saved = new TranslationDto();
+        saved.setId(row.id);
+        saved.setTranslationKey(dto.getTranslationKey());
+        saved.setLocale(dto.getLocale());
+        saved.setContent(dto.getContent());
+        saved.setTags(dto.getTags() != null ? new HashSet<>(dto.getTags()) : null);
+        saved.setCreatedAt(row.inserted ? now : null);
+        saved.setUpdatedAt(now);
+        return saved;
+    }
+
+    private long upsertKey(String name) {
+        if (dialect == SqlDialect.H2) {
+            return jdbcTemplate.queryForObject(H2_UPSERT_KEY_RETURNING, Long.class, name);
+        }
+        return upsertReturningId(MYSQL_UPSERT_KEY, ps -> ps.setString(1, name)).id;
+    }
+
+    private UpsertedRow upsertRow(long keyId, TranslationDto dto, Timestamp now) {
+        PreparedStatementSetter values = ps -> {
+            ps.setLong(1, keyId);
+            ps.setString(2, dto.getLocale());
+            ps.setString(3, dto.getContent());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        };
+        if (dialect == SqlDialect.H2) {
+            return jdbcTemplate.query(H2_UPSERT_TRANSLATION_RETURNING, values, rs -> {
+                rs.next();
+                return new UpsertedRow(rs.getLong("id"), rs.getLong("version") == 0);
+            });
+        }
+        return upsertReturningId(MYSQL_UPSERT_TRANSLATION, values);
+    }
+
+    private UpsertedRow upsertReturningId(String sql, PreparedStatementSetter values) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        int affected = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            values.setValues(ps);
+            return ps;
+        }, keys);
+        // Connector/J lists one key per affected row, so an update (2 rows affected) yields two; the first is the id
+        Number id = (Number) keys.getKeyList().get(0).values().iterator().next();
+        return new UpsertedRow(id.longValue(), affected == 1);
+    }
+
+    private Map<String, ExistingRow> findExisting(Collection<TranslationDto> rows) {
+        Set<String> locales = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (TranslationDto dto : rows) {
+            locales.add(dto.getLocale());
+            keys.add(dto.getTranslationKey());
+        }
+
+        // Matches the key x locale cross product; pairs outside the chunk are dropped below
+        Map<String, Object> params = Map.of("locales", locales, "keys", keys);
+        Map<String, ExistingRow> existing = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_EXISTING, params, rs -> {
+            ExistingRow row = new ExistingRow(rs.getLong("id"), rs.getLong("key_id"),
+                rs.getString("translation_key"), rs.getString("locale"), rs.getString("content"));
+            existing.put(rowKey(row.locale, row.key), row);
+        });
+        Set<String> wanted = new HashSet<>();
+        for (TranslationDto dto : rows) {
+            wanted.add(rowKey(dto.getLocale(), dto.getTranslationKey()));
+        }
+        existing.keySet().retainAll(wanted);
+        return existing;
+    }
+
+    private Map<String, Long> resolveTags(Collection<TranslationDto> rows) {
+        Set<String> names = new HashSet<>();
+        for (TranslationDto dto : rows) {
+            if (dto.getTags() != null) {
+                names.addAll(dto.getTags());
+            }
+        }
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+
+        return tagRegistry.resolve(names);
+    }
+
+    /**
+     * Creates whichever of {@code names} do not exist yet. Lets writers that add the same keys
+     * in several locales create them once, up front, instead of racing each other for the same
+     * new key rows in every chunk.
+     */
+    @Transactional
+    public void createKeys(Collection<String> names) {
+        if (!names.isEmpty()) {
+            resolveKeyNames(new HashSet<>(names));
+        }
+    }
+
+    // Only new rows need key ids; an existing row keeps its key
+    private Map<String, Long> resolveKeys(Collection<TranslationDto> inserts) {
+        if (inserts.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> names = new HashSet<>();
+        for (TranslationDto dto : inserts) {
+            names.add(dto.getTranslationKey());
+        }
+        return resolveKeyNames(names);
+    }
+
+    private Map<String, Long> resolveKeyNames(Set<String> names) {
+        Map<String, Long> keyIds = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_KEYS, Map.of("names", names),
+            rs -> { keyIds.put(rs.getString("name"), rs.getLong("id")); });
+
+        List<String> missing = names.stream().filter(name -> !keyIds.containsKey(name)).sorted().toList();
+        if (!missing.isEmpty()) {
+            // Keys another writer creates meanwhile are left alone; the locking read sees them even under REPEATABLE READ
+            dialect.upsertAll(jdbcTemplate, upsertKeySql, missing, (ps, name) -> ps.setString(1, name));
+            namedJdbcTemplate.query(SELECT_KEYS + dialect.lockingRead(), Map.of("names", missing),
+                rs -> { keyIds.put(rs.getString("name"), rs.getLong("id")); });
+            List<String> lost = missing.stream().filter(name -> !keyIds.containsKey(name)).toList();
+            if (!lost.isEmpty()) {
+                throw new IllegalStateException("Translation keys could not be resolved: " + lost);
+            }
+        }
+        return keyIds;
+    }
+
+    private Map<Long, Set<Long>> findTagLinks(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Set<Long>> links = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_TAG_LINKS, Map.of("ids", ids), rs -> {
+            links.computeIfAbsent(rs.getLong("translation_id"), id -> new HashSet<>()).add(rs.getLong("tag_id"));
+        });
+        return links;
+    }
+
+    private List<UpsertRow> upsert(List<TranslationDto> inserts, Map<String, Long> keyIds, List<ExistingRow> updates,
+                                   Timestamp now) {
+        List<UpsertRow> upserts = new ArrayList<>(inserts.size() + updates.size());
+        for (TranslationDto dto : inserts) {
+            upserts.add(new UpsertRow(rowKey(dto.getLocale(), dto.getTranslationKey()),
+                keyIds.get(dto.getTranslationKey()), dto.getLocale(), dto.getContent()));
+        }
+        for (ExistingRow row : updates) {
+            upserts.add(new UpsertRow(rowKey(row.locale, row.key), row.keyId, row.locale, row.content));
+        }
+        if (upserts.isEmpty()) {
+            return upserts;
+        }
+        // Same lock order in every writer, so overlapping chunks wait for each other instead of deadlocking
+        upserts.sort(Comparator.comparingLong((UpsertRow row) -> row.keyId).thenComparing(row -> row.locale));
+        dialect.upsertAll(jdbcTemplate, upsertTranslationSql, upserts, (ps, row) -> {
+            ps.setLong(1, row.keyId);
+            ps.setString(2, row.locale);
+            ps.setString(3, row.content);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+        return upserts;
+    }
+
+    /**
+     * Generated keys of a batched upsert are not reliable per row, so the id of every upserted
+     * row is read back, updates included: the id seen before the upsert is stale if another
+     * writer deleted the row meanwhile and the upsert inserted it again.
+     */
+    private Map<String, Long> findIds(List<UpsertRow> upserts) {
+        if (upserts.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> rowKeys = new HashMap<>();
+        Set<String> locales = new HashSet<>();
+        Set<Long> keyIds = new HashSet<>();
+        for (UpsertRow row : upserts) {
+            rowKeys.put(row.locale + '\u0000' + row.keyId, row.rowKey);
+            locales.add(row.locale);
+            keyIds.add(row.keyId);
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_IDS + dialect.lockingRead(), Map.of("locales", locales, "keyIds", keyIds), rs -> {
+            String rowKey = rowKeys.get(rs.getString("locale") + '\u0000' + rs.getLong("key_id"));
+            if (rowKey != null) {
+                ids.put(rowKey, rs.getLong("id"));
+            }
+        });
+        if (ids.size() < rowKeys.size()) {
+            throw new IllegalStateException("Upserted translations could not be read back: "
+                + (rowKeys.size() - ids.size()) + " missing");
+        }
+        return ids;
+    }
+
+    /**
+     * Rows whose tags change without their content only get a new updated_at and version. The
+     * update also locks them, and a row deleted since the lookup fails the chunk like a tags-only
+     * row that never existed.
+     */
+    private void touch(List<ExistingRow> rows, Timestamp now) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> ids = rows.stream().map(row -> row.id).sorted().toList();
+        int touched = namedJdbcTemplate.update(TOUCH_TRANSLATIONS, Map.of("now", now, "ids", ids));
+        if (touched < ids.size()) {
+            throw new RuntimeException("Translation not found for " + (ids.size() - touched)
+                + " of the rows whose tags were changed");
+        }
+    }
+
+    /**
+     * Rows read before the upsert only lose and gain the links that differ. Rows inserted here
+     * are cleared first instead: one that another writer created meanwhile may already have links.
+     */
+    private void replaceTagLinks(Map<Long, Set<Long>> diffedLinks, Map<Long, Set<Long>> replacedLinks,
+                                 Map<Long, Set<Long>> currentLinks) {
+        List<Long> cleared = new ArrayList<>(replacedLinks.keySet());
+        List<long[]> removed = new ArrayList<>();
+        List<long[]> added = new ArrayList<>();
+        replacedLinks.forEach((translationId, wanted) ->
+            wanted.forEach(tagId -> added.add(new long[] {translationId, tagId})));
+        diffedLinks.forEach((translationId, wanted) -> {
+            Set<Long> current = currentLinks.getOrDefault(translationId, Set.of());
+            current.stream().filter(tagId -> !wanted.contains(tagId))
+                .forEach(tagId -> removed.add(new long[] {translationId, tagId}));
+            wanted.stream().filter(tagId -> !current.contains(tagId))
+                .forEach(tagId -> added.add(new long[] {translationId, tagId}));
+        });
+
+        if (!cleared.isEmpty()) {
+            namedJdbcTemplate.update(DELETE_TAG_LINKS, Map.of("ids", cleared));
+        }
+        if (!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_TAG_LINK, removed, removed.size(), (ps, pair) -> {
+                ps.setLong(1, pair[0]);
+                ps.setLong(2, pair[1]);
+            });
+        }
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_LINK, added, added.size(), (ps, pair) -> {
+                ps.setLong(1, pair[0]);
+                ps.setLong(2, pair[1]);
+            });
+        }
+    }
+
+    private static Set<Long> tagIdsFor(Set<String> names, Map<String, Long> tagIds) {
+        Set<Long> ids = new HashSet<>();
+        for (String name : names) {
+            ids.add(tagIds.get(name));
+        }
+        return ids;
+    }
+
+    private static String rowKey(String locale, String key) {
+        return locale + '\u0000' + key;
+    }
+
+    private static class ExistingRow {
+        final long id;
+        final long keyId;
+        final String key;
+        final String locale;
+        String content;
+
+        ExistingRow(long id, long keyId, String key, String locale, String content) {
+            this.id = id;
+            this.keyId = keyId;
+            this.key = key;
+            this.locale = locale;
+            this.content = content;
+        }
+    }
+
+    private static class UpsertedRow {
+        final long id;
+        final boolean inserted;
+
+        UpsertedRow(long id, boolean inserted) {
+            this.id = id;
+            this.inserted = inserted;
+        }
+    }
+
+    private static class UpsertRow {
+        final String rowKey;
+        final long keyId;
+        final String locale;
+        final String content;
+
+        UpsertRow(String rowKey, long keyId, String locale, String content) {
+            this.rowKey = rowKey;
+            this.keyId = keyId;
+            this.locale = locale;
+            this.content = content;
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.DeltaExportDto;
+import com.digitaltolk.translation.entity.ChangeSequence;
+import com.digitaltolk.translation.entity.TranslationChange;
+import com.digitaltolk.translation.repo.ChangeSequenceRepository;
+import com.digitaltolk.translation.repo.TranslationChangeRepository;
+import com.digitaltolk.translation.repo.TranslationEntryView;
+import com.digitaltolk.translation.repo.TranslationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the append-only change log in the caller's transaction and serves delta exports
+ * from it: upserts and tombstones since a client's last sequence cursor.
+ */
+@Service
+public class ChangeLogService {
+
+    private static final String INSERT_CHANGE =
+        "INSERT INTO translation_changes (locale, sequence_number, translation_key, operation, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private TranslationChangeRepository changeRepository;
+
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate newTransaction;
+
+    public ChangeLogService(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<TranslationChange> changes) {
+        // Lock locales in a fixed order so concurrent multi-locale writes cannot deadlock
+        Map<String, List<TranslationChange>> byLocale = changes.stream()
+            .collect(Collectors.groupingBy(TranslationChange::getLocale, TreeMap::new, Collectors.toList()));
+        LocalDateTime now = LocalDateTime.now();
+
+        byLocale.forEach((locale, localeChanges) -> {
+            // The row lock is held until commit, so sequence order matches commit order per locale
+            ChangeSequence sequence = lockSequence(locale);
+            long next = sequence.getLastSequence();
+            for (TranslationChange change : localeChanges) {
+                change.setSequence(++next);
+                change.setChangedAt(now);
+            }
+            sequence.setLastSequence(next);
+            insertChanges(localeChanges);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public DeltaExportDto getDelta(String locale, long cursor, int limit) {
+        long head = sequenceRepository.findById(locale)
+            .map(ChangeSequence::getLastSequence)
+            .orElse(0L);
+
+        if (cursor <= 0 || cursor > head) {
+            return fullExport(locale, head);
+        }
+
+        List<TranslationChange> changes = changeRepository.findChangesAfter(locale, cursor, PageRequest.of(0, limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        if (changes.isEmpty()) {
+            return new DeltaExportDto(locale, cursor, false, false, Map.of(), List.of());
+        }
+
+        // Last operation per key wins within the page
+        Map<String, TranslationChange.Operation> latest = new LinkedHashMap<>();
+        changes.forEach(change -> latest.put(change.getTranslationKey(), change.getOperation()));
+
+        Set<String> upsertKeys = latest.entrySet().stream()
+            .filter(entry -> entry.getValue() == TranslationChange.Operation.UPSERT)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+
+        Map<String, String> upserts = new LinkedHashMap<>();
+        if (!upsertKeys.isEmpty()) {
+            translationRepository.findEntriesByLocaleAndKeys(locale, upsertKeys)
+                .forEach(entry -> upserts.put(entry.getTranslationKey(), entry.getContent()));
+        }
+
+        // Keys upserted in this page but deleted since are reported as tombstones
+        List<String> deletes = latest.keySet().stream()
+            .filter(key -> !upserts.containsKey(key))
+            .collect(Collectors.toList());
+
+        long nextCursor = changes.get(changes.size() - 1).getSequence();
+        return new DeltaExportDto(locale, nextCursor, false, hasMore, upserts, deletes);
+    }
+
+    private DeltaExportDto fullExport(String locale, long head) {
+        // The head is read first: anything committed after it is replayed on the next delta
+        Map<String, String> upserts = new LinkedHashMap<>();
+        try (Stream<TranslationEntryView> entries = translationRepository.streamByLocale(locale)) {
+            entries.forEach(entry -> upserts.put(entry.getTranslationKey(), entry.getContent()));
+        }
+        return new DeltaExportDto(locale, head, true, false, upserts, List.of());
+    }
+
+    private void insertChanges(List<TranslationChange> changes) {
+        // JDBC batch: the IDENTITY id would make saveAll insert one row per statement
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, changes, changes.size(), (ps, change) -> {
+            ps.setString(1, change.getLocale());
+            ps.setLong(2, change.getSequence());
+            ps.setString(3, change.getTranslationKey());
+            ps.setString(4, change.getOperation().name());
+            ps.setTimestamp(5, Timestamp.valueOf(change.getChangedAt()));
+        });
+    }
+
+    private ChangeSequence lockSequence(String locale) {
+        return sequenceRepository.findForUpdate(locale).orElseGet(() -> {
+            createSequence(locale);
+            return sequenceRepository.findForUpdate(locale)
+                .orElseThrow(() -> new IllegalStateException("Change sequence missing for locale: " + locale));
+        });
+    }
+
+    private void createSequence(String locale) {
+        try {
+            newTransaction.executeWithoutResult(status -> sequenceRepository.saveAndFlush(new ChangeSequence(locale)));
+        } catch (DataIntegrityViolationException e) {
+            // Another writer created it first
+        }
+    }
+
+}
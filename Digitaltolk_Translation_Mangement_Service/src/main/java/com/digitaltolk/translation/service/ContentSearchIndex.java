@@ -0,0 +1,198 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import com.digitaltolk.translation.repo.TranslationIndexView;
+import com.digitaltolk.translation.repo.TranslationRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process trigram index over translation keys and content, used to turn the
+ * '%...%' LIKE filters of searchTranslations into a primary-key lookup on a small candidate set.
+ *
+ * Writes only ever add postings. Ids whose content changed or that were deleted leave stale
+ * postings behind, which is safe because candidates are re-checked by the database query;
+ * the index is rebuilt in the background once enough writes have accumulated.
+ */
+@Component
+public class ContentSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentSearchIndex.class);
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index.rebuild-stale-ratio:0.2}")
+    private double rebuildStaleRatio;
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<Long> changedDuringRebuild = Collections.synchronizedSet(new HashSet<>());
+    private final AtomicLong writesSinceRebuild = new AtomicLong();
+
+    private TrigramIndex keyIndex;
+    private TrigramIndex contentIndex;
+    private long indexedRows;
+    private volatile boolean ready;
+
+    public ContentSearchIndex(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Candidate ids for the key and content substring filters (a bitmap the caller owns), or
+     * empty when the index cannot answer (disabled, still building, or filters shorter than
+     * three characters) and the caller should rely on the LIKE filters alone.
+     */
+    public Optional<RoaringBitmap> candidates(String key, String content) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap keyMatches = key != null ? keyIndex.candidates(key) : null;
+            RoaringBitmap contentMatches = content != null ? contentIndex.candidates(content) : null;
+
+            RoaringBitmap result;
+            if (keyMatches != null && contentMatches != null) {
+                result = RoaringBitmap.and(keyMatches, contentMatches);
+            } else if (keyMatches != null) {
+                result = keyMatches;
+            } else if (contentMatches != null) {
+                result = contentMatches;
+            } else {
+                return Optional.empty();
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding.get()) {
+            changedDuringRebuild.addAll(event.getTranslationIds());
+        }
+        if (ready) {
+            index(event.getTranslationIds());
+            if (writesSinceRebuild.addAndGet(event.getTranslationIds().size()) > Math.max(1000, indexedRows * rebuildStaleRatio)) {
+                rebuildAsync();
+            }
+        }
+    }
+
+    public void rebuildAsync() {
+        if (rebuilding.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::rebuild).whenComplete((ignored, error) -> {
+                rebuilding.set(false);
+                if (error != null) {
+                    log.error("Search index rebuild failed", error);
+                }
+            });
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        TrigramIndex keys = new TrigramIndex();
+        TrigramIndex contents = new TrigramIndex();
+        AtomicLong rows = new AtomicLong();
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TranslationIndexView> entries = translationRepository.streamIndexEntries()) {
+                entries.forEach(entry -> {
+                    int id = toIndexId(entry.getId());
+                    keys.add(id, entry.getTranslationKey());
+                    contents.add(id, entry.getContent());
+                    rows.incrementAndGet();
+                });
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            keyIndex = keys;
+            contentIndex = contents;
+            indexedRows = rows.get();
+            writesSinceRebuild.set(0);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Writes that committed while the snapshot was being read
+        Set<Long> missed;
+        synchronized (changedDuringRebuild) {
+            missed = new HashSet<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+        }
+        index(missed);
+
+        log.info("Search index built: {} rows, {} key trigrams, {} content trigrams in {} ms",
+            rows.get(), keys.size(), contents.size(), System.currentTimeMillis() - started);
+    }
+
+    private void index(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<TranslationIndexView> entries = new ArrayList<>();
+        for (List<Long> batch : IdBatches.of(ids)) {
+            entries.addAll(translationRepository.findIndexEntriesByIds(batch));
+        }
+        lock.writeLock().lock();
+        try {
+            for (TranslationIndexView entry : entries) {
+                int id = toIndexId(entry.getId());
+                keyIndex.add(id, entry.getTranslationKey());
+                contentIndex.add(id, entry.getContent());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int toIndexId(Long id) {
+        if (id > Integer.MAX_VALUE) {
+            ready = false;
+            enabled = false;
+            throw new IllegalStateException("Translation id " + id + " exceeds the search index id range; index disabled");
+        }
+        return id.intValue();
+    }
+
+}
@@ -1,27 +1,36 @@
 package com.digitaltolk.translation.service;
 
+import com.digitaltolk.translation.dto.TranslationDto;
 import com.digitaltolk.translation.entity.Tag;
-import com.digitaltolk.translation.entity.Translation;
 import com.digitaltolk.translation.entity.User;
 import com.digitaltolk.translation.repo.TagRepository;
-import com.digitaltolk.translation.repo.TranslationRepository;
 import com.digitaltolk.translation.repo.UserRepository;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
+/**
+ * Seeds test data. Runs as a {@link BulkJob}: the key space is split into ranges whose keys are
+ * created first, then into per-locale partitions seeded in parallel, each committing chunk by
+ * chunk through the bulk writer.
+ */
 @Service
-@Transactional
 public class DataSeederService {
+	
+	private static final Logger log = LoggerFactory.getLogger(DataSeederService.class);
+	
 	@Autowired
-    private TranslationRepository translationRepository;
-    
-    @Autowired
     private TagRepository tagRepository;
     
     @Autowired
@@ -30,14 +39,37 @@ public class DataSeederService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+    
     private static final String[] LOCALES = {"en", "fr", "es", "de", "it", "pt", "ru", "zh", "ja", "ko"};
     private static final String[] CONTEXTS = {"mobile", "desktop", "web", "api", "email", "sms", "push"};
     private static final String[] CATEGORIES = {"ui", "validation", "error", "success", "navigation", "form", "button"};
+    private static final String[] KEY_PREFIXES = {"app", "common", "auth", "user", "product", "order", "payment", "notification"};
+    private static final String[] KEY_SUFFIXES = {"title", "label", "message", "error", "success", "warning", "info", "placeholder"};
+    private static final String[] TAG_NAMES = Stream.concat(Arrays.stream(CONTEXTS), Arrays.stream(CATEGORIES)).toArray(String[]::new);
+    
+    // Content words per entry of LOCALES, built once; locales without a list use English
+    private static final String[][] LOCALE_WORDS = localeWords();
     
-    public void seedDatabase(int recordCount) {
+    @Value("${app.seed.parallelism:0}")
+    private int parallelism;
+    
+    @Value("${app.seed.chunk-size:5000}")
+    private int chunkSize;
+    
+    /**
+     * Seeds {@code recordCount} keys in every locale. Output depends only on {@code seed},
+     * so repeated runs produce identical data (and re-running is a no-op upsert).
+     */
+    public void seedDatabase(int recordCount, long seed, BulkJob job) {
         createDefaultUser();
         createTags();
-        createTranslations(recordCount);
+        createTranslations(recordCount, seed, job);
+    }
+    
+    public long totalRows(int recordCount) {
+        return (long) recordCount * LOCALES.length;
     }
     
     private void createDefaultUser() {
@@ -80,58 +112,137 @@ public class DataSeederService {
         }
     }
     
-    private void createTranslations(int recordCount) {
-        List<Translation> translations = new ArrayList<>();
-        Set<Tag> allTags = new HashSet<>(tagRepository.findAll());
-        List<Tag> tagList = new ArrayList<>(allTags);
+    private void createTranslations(int recordCount, long seed, BulkJob job) {
+        int threads = parallelism > 0 ? parallelism : Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        int rangesPerLocale = Math.max(1, Math.min(threads, (recordCount + chunkSize - 1) / chunkSize));
+        int rangeSize = (recordCount + rangesPerLocale - 1) / rangesPerLocale;
         
-        int batchSize = 1000;
-        int processedCount = 0;
+        // Keys first, one partition per key range: the per-locale partitions below would otherwise
+        // all insert the same new key rows and wait on each other's locks for them
+        List<Callable<Integer>> keyPartitions = new ArrayList<>();
+        // One partition per (key range, locale), so every chunk locks a single locale's change
+        // sequence row; ranges are the outer loop so concurrently running partitions differ in locale
+        List<Callable<Integer>> partitions = new ArrayList<>();
+        for (int from = 1; from <= recordCount; from += rangeSize) {
+            int rangeFrom = from;
+            int to = Math.min(recordCount, from + rangeSize - 1);
+            keyPartitions.add(() -> seedKeys(rangeFrom, to, seed, job));
+            for (int localeIndex = 0; localeIndex < LOCALES.length; localeIndex++) {
+                int locale = localeIndex;
+                partitions.add(() -> seedPartition(locale, rangeFrom, to, seed, job));
+            }
+        }
         
-        for (int i = 1; i <= recordCount; i++) {
-            for (String locale : LOCALES) {
-                String key = generateTranslationKey(i);
-                String content = generateTranslationContent(key, locale, i);
-                
-                if (!translationRepository.existsByTranslationKeyAndLocale(key, locale)) {
-                    Translation translation = new Translation(key, locale, content);
-                    
-                    // Add 1-3 random tags
-                    int tagCount = ThreadLocalRandom.current().nextInt(1, 4);
-                    Set<Tag> randomTags = getRandomTags(tagList, tagCount);
-                    translation.setTags(randomTags);
-                    
-                    translations.add(translation);
-                    processedCount++;
+        long started = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            runAll(pool, keyPartitions);
+            int created = runAll(pool, partitions);
+            long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            log.info("Seeding finished: {} translations created in {} ms on {} threads, {} rows/s",
+                created, elapsedMs, threads, totalRows(recordCount) * 1000 / elapsedMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.requestCancel();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private static int runAll(ForkJoinPool pool, List<Callable<Integer>> partitions)
+            throws InterruptedException, ExecutionException {
+        int total = 0;
+        for (Future<Integer> partition : pool.invokeAll(partitions)) {
+            total += partition.get();
+        }
+        return total;
+    }
+    
+    private int seedKeys(int from, int to, long seed, BulkJob job) {
+        List<String> keys = new ArrayList<>(chunkSize);
+        int written = 0;
+        try {
+            for (int i = from; i <= to && !job.isCancelRequested(); i++) {
+                keys.add(generateTranslationKey(mix(seed, i), i));
+                if (keys.size() >= chunkSize || i == to) {
+                    bulkWriter.createKeys(keys);
+                    written += keys.size();
+                    keys = new ArrayList<>(chunkSize);
                 }
+            }
+        } catch (RuntimeException e) {
+            job.requestCancel();
+            throw e;
+        }
+        return written;
+    }
+    
+    private int seedPartition(int localeIndex, int from, int to, long seed, BulkJob job) {
+        String locale = LOCALES[localeIndex];
+        String[] words = LOCALE_WORDS[localeIndex];
+        List<TranslationDto> translations = new ArrayList<>(chunkSize);
+        int created = 0;
+        
+        try {
+            for (int i = from; i <= to && !job.isCancelRequested(); i++) {
+                // Everything about a row derives from (seed, index, locale): same seed, same data
+                long keyBits = mix(seed, i);
+                long rowBits = mix(keyBits, localeIndex);
+                String key = generateTranslationKey(keyBits, i);
+                
+                TranslationDto translation = new TranslationDto();
+                translation.setTranslationKey(key);
+                translation.setLocale(locale);
+                translation.setContent(words[(int) ((rowBits >>> 33) % words.length)] + " " + i + " [" + key + "]");
+                translation.setTags(generateTags(rowBits));
+                translations.add(translation);
                 
-                // Batch insert for performance
-                if (translations.size() >= batchSize) {
-                    translationRepository.saveAll(translations);
-                    translations.clear();
-                    System.out.println("Processed " + processedCount + " translations...");
+                if (translations.size() >= chunkSize || i == to) {
+                    created += bulkWriter.write(translations).getInserted();
+                    job.addRows(translations.size());
+                    translations = new ArrayList<>(chunkSize);
                 }
             }
+        } catch (RuntimeException e) {
+            // No point in the other partitions carrying on
+            job.requestCancel();
+            throw e;
         }
-        
-        // Save remaining translations
-        if (!translations.isEmpty()) {
-            translationRepository.saveAll(translations);
-            System.out.println("Completed! Total translations created: " + processedCount);
+        return created;
+    }
+    
+    private static String generateTranslationKey(long bits, int index) {
+        return new StringBuilder(32)
+            .append(KEY_PREFIXES[(int) (bits & 7)]).append('.')
+            .append(KEY_SUFFIXES[(int) ((bits >>> 3) & 7)]).append('.')
+            .append(index)
+            .toString();
+    }
+    
+    // 1-3 tags
+    private static Set<String> generateTags(long bits) {
+        int count = 1 + (int) ((bits >>> 8) % 3);
+        Set<String> tags = new HashSet<>(4);
+        for (int i = 0; i < count; i++) {
+            tags.add(TAG_NAMES[(int) ((bits >>> (12 + 6 * i)) & 63) % TAG_NAMES.length]);
         }
+        return tags;
     }
     
-    private String generateTranslationKey(int index) {
-        String[] prefixes = {"app", "common", "auth", "user", "product", "order", "payment", "notification"};
-        String[] suffixes = {"title", "label", "message", "error", "success", "warning", "info", "placeholder"};
-        
-        String prefix = prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)];
-        String suffix = suffixes[ThreadLocalRandom.current().nextInt(suffixes.length)];
-        
-        return prefix + "." + suffix + "." + index;
+    // SplitMix64 finalizer: a stateless, well-distributed hash of (seed, value)
+    private static long mix(long seed, long value) {
+        long z = seed + value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
     
-    private String generateTranslationContent(String key, String locale, int index) {
+    private static String[][] localeWords() {
         Map<String, String[]> localeContent = Map.of(
             "en", new String[]{"Welcome", "Login", "Error occurred", "Success", "Loading", "Save", "Cancel", "Delete"},
             "fr", new String[]{"Bienvenue", "Connexion", "Erreur survenue", "Succès", "Chargement", "Sauvegarder", "Annuler", "Supprimer"},
@@ -140,19 +251,11 @@ public class DataSeederService {
             "it", new String[]{"Benvenuto", "Accedi", "Errore verificato", "Successo", "Caricamento", "Salva", "Annulla", "Elimina"}
         );
         
-        String[] words = localeContent.getOrDefault(locale, localeContent.get("en"));
-        String baseWord = words[ThreadLocalRandom.current().nextInt(words.length)];
-        
-        return baseWord + " " + index + " [" + key + "]";
-    }
-    
-    private Set<Tag> getRandomTags(List<Tag> tagList, int count) {
-        Set<Tag> randomTags = new HashSet<>();
-        for (int i = 0; i < count && !tagList.isEmpty(); i++) {
-            Tag randomTag = tagList.get(ThreadLocalRandom.current().nextInt(tagList.size()));
-            randomTags.add(randomTag);
+        String[][] words = new String[LOCALES.length][];
+        for (int i = 0; i < LOCALES.length; i++) {
+            words[i] = localeContent.getOrDefault(LOCALES[i], localeContent.get("en"));
         }
-        return randomTags;
+        return words;
     }
 
 }
@@ -0,0 +1,52 @@
+package com.digitaltolk.translation.service;
+
+import java.time.Instant;
+
+/**
+ * Immutable, fully serialized export of one locale. The body is kept both as plain JSON
+ * and pre-gzipped so that serving it never touches the database or the serializer.
+ */
+public class ExportSnapshot {
+
+    private final String locale;
+    private final long version;
+    private final long generation;
+    private final String contentHash;
+    private final Instant lastModified;
+    private final byte[] body;
+    private final byte[] gzipBody;
+
+    public ExportSnapshot(String locale, long version, long generation, String contentHash,
+                          Instant lastModified, byte[] body, byte[] gzipBody) {
+        this.locale = locale;
+        this.version = version;
+        this.generation = generation;
+        this.contentHash = contentHash;
+        this.lastModified = lastModified;
+        this.body = body;
+        this.gzipBody = gzipBody;
+    }
+
+    public String getLocale() { return locale; }
+
+    public long getVersion() { return version; }
+
+    public long getGeneration() { return generation; }
+
+    public String getContentHash() { return contentHash; }
+
+    public Instant getLastModified() { return lastModified; }
+
+    public byte[] getBody() { return body; }
+
+    public byte[] getGzipBody() { return gzipBody; }
+
+    public String getETag() {
+        return "\"" + contentHash + "\"";
+    }
+
+    public String getGzipETag() {
+        return "\"" + contentHash + "-gz\"";
+    }
+
+}
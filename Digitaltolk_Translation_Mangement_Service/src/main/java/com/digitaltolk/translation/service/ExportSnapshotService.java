@@ -0,0 +1,175 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds one pre-serialized export snapshot per locale. A write to a locale bumps that
+ * locale's generation so its snapshot is rebuilt on the next request; other locales keep
+ * serving their existing snapshot.
+ *
+ * <p>Concurrent requests that miss share one rebuild per (locale, generation). With
+ * {@code app.export.stale-while-revalidate}, requests arriving while that rebuild runs get
+ * the previous snapshot instead of waiting for it.
+ *
+ * <p>When the {@link TranslationReadModel} is loaded and has applied every change to the locale,
+ * snapshots and the other export paths are written from memory instead of a database cursor.
+ */
+@Service
+public class ExportSnapshotService {
+
+    @Autowired
+    private TranslationService translationService;
+
+    @Autowired
+    private TranslationReadModel readModel;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.export.stale-while-revalidate:true}")
+    private boolean staleWhileRevalidate;
+
+    private final Map<String, ExportSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final SingleFlight<String, ExportSnapshot> rebuilds = new SingleFlight<>(() -> coalesced("snapshot"));
+    private final SingleFlight<String, Map<String, String>> incrementalExports = new SingleFlight<>(() -> coalesced("incremental"));
+
+    private static final int EMPTY_EXPORT_LENGTH = "{}".length();
+
+    public ExportSnapshot getSnapshot(String locale) {
+        long generation = currentGeneration(locale);
+        ExportSnapshot current = snapshots.get(locale);
+        if (current != null && current.getGeneration() == generation) {
+            snapshotLookups(locale, "hit");
+            return current;
+        }
+
+        String flightKey = locale + '@' + generation;
+        if (current != null && staleWhileRevalidate && rebuilds.isInFlight(flightKey)) {
+            snapshotLookups(locale, "stale-served");
+            return current;
+        }
+        snapshotLookups(locale, current != null ? "stale" : "miss");
+        return rebuilds.execute(flightKey, () -> rebuild(locale, generation, current));
+    }
+
+    /**
+     * Translations of a locale updated after {@code lastUpdate}, through the "translationExport"
+     * cache; concurrent misses for the same (locale, lastUpdate) run one query.
+     */
+    public Map<String, String> getUpdatedSince(String locale, LocalDateTime lastUpdate) {
+        if (readModel.isCurrent(locale)) {
+            return readModel.export(locale, lastUpdate);
+        }
+        return incrementalExports.execute(locale + '_' + lastUpdate,
+            () -> translationService.exportTranslations(locale, lastUpdate));
+    }
+
+    /**
+     * Writes a locale's export (or the part updated after {@code lastUpdate}) straight to {@code out}.
+     */
+    public void streamExport(String locale, LocalDateTime lastUpdate, OutputStream out) throws IOException {
+        // A locale with a change still being applied is read from the database, so a snapshot
+        // built for the new generation never captures the old rows
+        if (readModel.isCurrent(locale)) {
+            readModel.writeExport(locale, lastUpdate, out);
+        } else {
+            translationService.streamExport(locale, lastUpdate, out);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        event.getLocales().forEach(this::invalidate);
+    }
+
+    public void invalidate(String locale) {
+        generations.computeIfAbsent(locale, l -> new AtomicLong()).incrementAndGet();
+    }
+
+    private ExportSnapshot rebuild(String locale, long generation, ExportSnapshot current) {
+        ExportSnapshot rebuilt = build(locale, generation, current);
+        if (rebuilt.getBody().length <= EMPTY_EXPORT_LENGTH && current == null) {
+            // Don't let requests for unknown locales fill the snapshot map
+            return rebuilt;
+        }
+        // A snapshot built while a write was in flight is still returned to this caller,
+        // but carries the old generation and will be rebuilt by the next one
+        snapshots.merge(locale, rebuilt,
+            (existing, candidate) -> candidate.getGeneration() >= existing.getGeneration() ? candidate : existing);
+        return rebuilt;
+    }
+
+    private ExportSnapshot build(String locale, long generation, ExportSnapshot previous) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            streamExport(locale, null, json);
+            byte[] body = json.toByteArray();
+            meterRegistry.summary("translation.export.size", "locale", locale).record(body.length);
+            String contentHash = sha256(body);
+            // Unchanged content keeps its version and Last-Modified so conditional requests still match
+            if (previous != null && previous.getContentHash().equals(contentHash)) {
+                return new ExportSnapshot(locale, previous.getVersion(), generation, contentHash,
+                    previous.getLastModified(), previous.getBody(), previous.getGzipBody());
+            }
+
+            Timer.Sample compress = Timer.start(meterRegistry);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(Math.max(32, body.length / 4));
+            try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(body);
+            }
+            compress.stop(meterRegistry.timer("translation.export.compress", "locale", locale));
+
+            return new ExportSnapshot(locale, versions.incrementAndGet(), generation, contentHash,
+                Instant.now(), body, gzip.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build export snapshot for locale '" + locale + "'", e);
+        } finally {
+            sample.stop(meterRegistry.timer("translation.export.build", "locale", locale));
+        }
+    }
+
+    private void snapshotLookups(String locale, String result) {
+        meterRegistry.counter("translation.export.snapshot", "locale", locale, "result", result).increment();
+    }
+
+    private void coalesced(String path) {
+        meterRegistry.counter("translation.export.coalesced", "path", path).increment();
+    }
+
+    private long currentGeneration(String locale) {
+        AtomicLong generation = generations.get(locale);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.digitaltolk.translation.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits id lists for {@code IN (...)} statements. MySQL allows at most 65535 placeholders
+ * per prepared statement, and a bulk operation or coalesced event can carry more ids.
+ */
+final class IdBatches {
+
+    static final int SIZE = 5000;
+
+    private IdBatches() {
+    }
+
+    static List<List<Long>> of(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += SIZE) {
+            batches.add(all.subList(from, Math.min(all.size(), from + SIZE)));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,234 @@
+package com.digitaltolk.translation.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable column-wise copy of one locale's translations, ordered by id. Keys and tag names are
+ * dictionary ids; contents are UTF-8 bytes packed into one array and addressed by offset, so a
+ * locale costs a handful of arrays instead of an object graph per row. Changes produce a new table
+ * ({@link #merge}), which copies untouched runs of rows with {@code System.arraycopy}.
+ */
+final class LocaleTable {
+
+    final long[] ids;
+    final int[] keyIds;
+    // contentOffsets[row]..contentOffsets[row + 1] is the row's content
+    final int[] contentOffsets;
+    final byte[] content;
+    // Epoch microseconds of the stored LocalDateTime, read as UTC
+    final long[] createdAt;
+    final long[] updatedAt;
+    // tagOffsets[row]..tagOffsets[row + 1] indexes the row's tag name ids in tagIds
+    final int[] tagOffsets;
+    final int[] tagIds;
+
+    private LocaleTable(Builder builder) {
+        int size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.keyIds = Arrays.copyOf(builder.keyIds, size);
+        this.contentOffsets = Arrays.copyOf(builder.contentOffsets, size + 1);
+        this.content = Arrays.copyOf(builder.content, builder.contentLength);
+        this.createdAt = Arrays.copyOf(builder.createdAt, size);
+        this.updatedAt = Arrays.copyOf(builder.updatedAt, size);
+        this.tagOffsets = Arrays.copyOf(builder.tagOffsets, size + 1);
+        this.tagIds = Arrays.copyOf(builder.tagIds, builder.tagCount);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Row of a translation id, or -1 when this locale does not hold it.
+     */
+    int rowOf(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        return row >= 0 ? row : -1;
+    }
+
+    int contentLength(int row) {
+        return contentOffsets[row + 1] - contentOffsets[row];
+    }
+
+    long estimatedBytes() {
+        return 16L * 7 + ids.length * 8L + keyIds.length * 4L + contentOffsets.length * 4L + content.length
+            + createdAt.length * 8L + updatedAt.length * 8L + tagOffsets.length * 4L + tagIds.length * 4L;
+    }
+
+    /**
+     * A copy of {@code base} without the {@code removed} ids and with the {@code added} rows.
+     *
+     * @param base    current table, or null for a locale not held yet
+     * @param removed ascending ids to drop; must include every added id, so an update is a drop plus an add
+     * @param added   rows ordered by id
+     */
+    static LocaleTable merge(LocaleTable base, long[] removed, List<Row> added) {
+        int baseSize = base != null ? base.size() : 0;
+        Builder builder = new Builder(baseSize + added.size(), base != null ? base.content.length : 0);
+        int row = 0;
+        int nextRemoved = 0;
+        int nextAdded = 0;
+        while (true) {
+            long removedId = nextRemoved < removed.length ? removed[nextRemoved] : Long.MAX_VALUE;
+            long addedId = nextAdded < added.size() ? added.get(nextAdded).id : Long.MAX_VALUE;
+            long limit = Math.min(removedId, addedId);
+
+            // Every base row below the next change is copied as one run
+            int end = limit == Long.MAX_VALUE ? baseSize : firstAtLeast(base, row, baseSize, limit);
+            builder.copy(base, row, end);
+            row = end;
+            if (limit == Long.MAX_VALUE) {
+                return builder.build();
+            }
+            if (removedId == limit) {
+                if (row < baseSize && base.ids[row] == removedId) {
+                    row++;
+                }
+                nextRemoved++;
+            }
+            if (addedId == limit) {
+                builder.add(added.get(nextAdded++));
+            }
+        }
+    }
+
+    private static int firstAtLeast(LocaleTable table, int from, int to, long id) {
+        if (table == null) {
+            return 0;
+        }
+        int row = Arrays.binarySearch(table.ids, from, to, id);
+        return row >= 0 ? row : -row - 1;
+    }
+
+    static final class Row {
+        final long id;
+        final int keyId;
+        final byte[] content;
+        final long createdAt;
+        final long updatedAt;
+        final int[] tagIds;
+
+        Row(long id, int keyId, byte[] content, long createdAt, long updatedAt, int[] tagIds) {
+            this.id = id;
+            this.keyId = keyId;
+            this.content = content;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.tagIds = tagIds;
+        }
+    }
+
+    /**
+     * Appends rows in ascending id order; not thread-safe.
+     */
+    static final class Builder {
+        private long[] ids;
+        private int[] keyIds;
+        private int[] contentOffsets;
+        private byte[] content;
+        private long[] createdAt;
+        private long[] updatedAt;
+        private int[] tagOffsets;
+        private int[] tagIds;
+        private int size;
+        private int contentLength;
+        private int tagCount;
+
+        Builder(int expectedRows, int expectedContentBytes) {
+            int rows = Math.max(16, expectedRows);
+            this.ids = new long[rows];
+            this.keyIds = new int[rows];
+            this.contentOffsets = new int[rows + 1];
+            this.content = new byte[Math.max(256, expectedContentBytes)];
+            this.createdAt = new long[rows];
+            this.updatedAt = new long[rows];
+            this.tagOffsets = new int[rows + 1];
+            this.tagIds = new int[16];
+        }
+
+        void add(Row row) {
+            add(row.id, row.keyId, row.content, row.createdAt, row.updatedAt, row.tagIds, 0, row.tagIds.length);
+        }
+
+        void add(long id, int keyId, byte[] utf8, long created, long updated, int[] tags, int tagsFrom, int tagsTo) {
+            ensureRows(1);
+            ensureContent(utf8.length);
+            ensureTags(tagsTo - tagsFrom);
+            ids[size] = id;
+            keyIds[size] = keyId;
+            createdAt[size] = created;
+            updatedAt[size] = updated;
+            System.arraycopy(utf8, 0, content, contentLength, utf8.length);
+            contentLength += utf8.length;
+            contentOffsets[size + 1] = contentLength;
+            System.arraycopy(tags, tagsFrom, tagIds, tagCount, tagsTo - tagsFrom);
+            tagCount += tagsTo - tagsFrom;
+            tagOffsets[size + 1] = tagCount;
+            size++;
+        }
+
+        void copy(LocaleTable table, int from, int to) {
+            int rows = to - from;
+            if (rows == 0) {
+                return;
+            }
+            int contentStart = table.contentOffsets[from];
+            int contentBytes = table.contentOffsets[to] - contentStart;
+            int tagStart = table.tagOffsets[from];
+            int tags = table.tagOffsets[to] - tagStart;
+            ensureRows(rows);
+            ensureContent(contentBytes);
+            ensureTags(tags);
+
+            System.arraycopy(table.ids, from, ids, size, rows);
+            System.arraycopy(table.keyIds, from, keyIds, size, rows);
+            System.arraycopy(table.createdAt, from, createdAt, size, rows);
+            System.arraycopy(table.updatedAt, from, updatedAt, size, rows);
+            System.arraycopy(table.content, contentStart, content, contentLength, contentBytes);
+            System.arraycopy(table.tagIds, tagStart, tagIds, tagCount, tags);
+            for (int i = 1; i <= rows; i++) {
+                contentOffsets[size + i] = table.contentOffsets[from + i] - contentStart + contentLength;
+                tagOffsets[size + i] = table.tagOffsets[from + i] - tagStart + tagCount;
+            }
+            size += rows;
+            contentLength += contentBytes;
+            tagCount += tags;
+        }
+
+        LocaleTable build() {
+            return new LocaleTable(this);
+        }
+
+        private void ensureRows(int extra) {
+            if (size + extra <= ids.length) {
+                return;
+            }
+            int capacity = Math.max(size + extra, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            keyIds = Arrays.copyOf(keyIds, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            contentOffsets = Arrays.copyOf(contentOffsets, capacity + 1);
+            tagOffsets = Arrays.copyOf(tagOffsets, capacity + 1);
+        }
+
+        private void ensureContent(int extra) {
+            // Offsets are ints, so one locale's content is capped at 2 GB
+            long required = (long) contentLength + extra;
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Locale content exceeds the read model's 2 GB per-locale limit");
+            }
+            if (required > content.length) {
+                content = Arrays.copyOf(content, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, content.length * 2L)));
+            }
+        }
+
+        private void ensureTags(int extra) {
+            if (tagCount + extra > tagIds.length) {
+                tagIds = Arrays.copyOf(tagIds, Math.max(tagCount + extra, tagIds.length * 2));
+            }
+        }
+    }
+
+}
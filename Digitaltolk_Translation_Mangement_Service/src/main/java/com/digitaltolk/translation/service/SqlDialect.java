@@ -0,0 +1,65 @@
+package com.digitaltolk.translation.service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The two databases the native upserts are written for: MySQL in production, H2 in tests
+ * and the load test. Anything that is not H2 gets the MySQL syntax.
+ */
+enum SqlDialect {
+    MYSQL, H2;
+
+    static SqlDialect of(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "H2".equalsIgnoreCase(product) ? H2 : MYSQL;
+    }
+
+    String pick(String mysql, String h2) {
+        return this == H2 ? h2 : mysql;
+    }
+
+    /**
+     * Suffix for a SELECT that must see rows other transactions committed after this one's
+     * snapshot. MySQL's REPEATABLE READ hides them from plain reads, and an upsert that found
+     * the row writes nothing this transaction could see; H2 runs at READ COMMITTED.
+     */
+    String lockingRead() {
+        return this == MYSQL ? " FOR SHARE" : "";
+    }
+
+    /**
+     * Runs an upsert for every row. H2's MERGE is not atomic: a row another transaction
+     * inserts after the ON check fails on the unique index once that transaction commits.
+     * Run again, the MERGE matches it, so H2 rows go one by one with a single retry.
+     */
+    <T> void upsertAll(JdbcTemplate jdbcTemplate, String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (this == MYSQL) {
+            jdbcTemplate.batchUpdate(sql, rows, rows.size(), setter);
+            return;
+        }
+        for (T row : rows) {
+            PreparedStatementSetter statement = ps -> setter.setValues(ps, row);
+            upsert(() -> jdbcTemplate.update(sql, statement));
+        }
+    }
+
+    // One upsert statement, retried once on H2 for the reason given on upsertAll
+    <T> T upsert(Supplier<T> statement) {
+        try {
+            return statement.get();
+        } catch (DuplicateKeyException e) {
+            if (this == MYSQL) {
+                throw e;
+            }
+            return statement.get();
+        }
+    }
+}
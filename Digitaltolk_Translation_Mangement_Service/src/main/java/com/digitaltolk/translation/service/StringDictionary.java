@@ -0,0 +1,56 @@
+package com.digitaltolk.translation.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only string-to-int dictionary. Ids are dense and never reused, so tables that hold ids
+ * stay valid as the dictionary grows. Writers are serialized; a reader resolves ids it found in a
+ * table published after they were interned, so it always sees their values.
+ */
+class StringDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] values;
+    private volatile long stringBytes;
+    private int size;
+
+    StringDictionary(int initialCapacity) {
+        this.values = new String[Math.max(16, initialCapacity)];
+    }
+
+    synchronized int intern(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        // Volatile write after the element, so a reader that got the id from a published table sees the value
+        values = current;
+        ids.put(value, size);
+        // String and array headers plus Latin-1 bytes, one map entry and the boxed id
+        stringBytes += 56 + value.length() + 48;
+        return size++;
+    }
+
+    String get(int id) {
+        return values[id];
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap held by the strings and both lookup structures.
+     */
+    long estimatedBytes() {
+        return stringBytes + (long) values.length * 4;
+    }
+
+}
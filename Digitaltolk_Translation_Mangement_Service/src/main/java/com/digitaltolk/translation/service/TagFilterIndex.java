@@ -0,0 +1,205 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import com.digitaltolk.translation.repo.TranslationRepository;
+import com.digitaltolk.translation.repo.TranslationTagView;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Exact per-tag sets of translation ids, so any/all tag filters are resolved by a bitmap
+ * union/intersection in memory before the database is asked for the final page.
+ */
+@Component
+public class TagFilterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TagFilterIndex.class);
+
+    @Value("${app.search.tag-index.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshMonitor = new Object();
+    private final Object buildMonitor = new Object();
+    // Bumped by every change too large to list; a build that saw a bump while it ran is not published as ready
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Set<Long> changedDuringBuild = Collections.synchronizedSet(new HashSet<>());
+
+    private Map<String, RoaringBitmap> idsByTag = new HashMap<>();
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    public TagFilterIndex(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Ids tagged with any (or all) of the given tag names, as a bitmap the caller owns;
+     * empty when the index is not available and the filter must run in the database.
+     */
+    public Optional<RoaringBitmap> match(Collection<String> tagNames, boolean matchAll) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> sets = new ArrayList<>();
+            for (String tagName : new HashSet<>(tagNames)) {
+                RoaringBitmap ids = idsByTag.get(tagName);
+                if (ids == null) {
+                    if (matchAll) {
+                        return Optional.of(new RoaringBitmap());
+                    }
+                    continue;
+                }
+                sets.add(ids);
+            }
+            if (sets.isEmpty()) {
+                return Optional.of(new RoaringBitmap());
+            }
+            if (sets.size() == 1) {
+                return Optional.of(sets.get(0).clone());
+            }
+            RoaringBitmap[] bitmaps = sets.toArray(new RoaringBitmap[0]);
+            return Optional.of(matchAll ? FastAggregation.and(bitmaps) : FastAggregation.or(bitmaps));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isAllTranslations()) {
+            // Filters go to the database until a new build has read every link
+            invalidations.incrementAndGet();
+            ready = false;
+            rebuildAsync();
+            return;
+        }
+        if (building) {
+            changedDuringBuild.addAll(event.getTranslationIds());
+        }
+        if (ready) {
+            refresh(event.getTranslationIds());
+        }
+    }
+
+    /**
+     * Re-reads the tag links of the given translations; ids that no longer exist drop out of every set.
+     */
+    public void refresh(Collection<Long> translationIds) {
+        if (translationIds.isEmpty()) {
+            return;
+        }
+        // Read and apply one refresh at a time, so an older read can never overwrite a newer one
+        synchronized (refreshMonitor) {
+            List<TranslationTagView> links = new ArrayList<>();
+            for (List<Long> batch : IdBatches.of(translationIds)) {
+                links.addAll(translationRepository.findTagNamesByTranslationIds(batch));
+            }
+
+            lock.writeLock().lock();
+            try {
+                RoaringBitmap changed = new RoaringBitmap();
+                translationIds.forEach(id -> changed.add(toIndexId(id)));
+                idsByTag.values().forEach(ids -> ids.andNot(changed));
+                links.forEach(link -> idsByTag.computeIfAbsent(link.getTagName(), name -> new RoaringBitmap())
+                    .add(toIndexId(link.getTranslationId())));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void rebuild() {
+        synchronized (buildMonitor) {
+            build();
+        }
+    }
+
+    private void rebuildAsync() {
+        CompletableFuture.runAsync(this::rebuild).exceptionally(error -> {
+            log.error("Tag index build failed", error);
+            return null;
+        });
+    }
+
+    private void build() {
+        building = true;
+        try {
+            long seen = invalidations.get();
+            long started = System.currentTimeMillis();
+            Map<String, RoaringBitmap> rebuilt = new HashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TranslationTagView> links = translationRepository.streamTagLinks()) {
+                    links.forEach(link -> rebuilt.computeIfAbsent(link.getTagName(), name -> new RoaringBitmap())
+                        .add(toIndexId(link.getTranslationId())));
+                }
+            });
+            rebuilt.values().forEach(RoaringBitmap::runOptimize);
+
+            lock.writeLock().lock();
+            try {
+                idsByTag = rebuilt;
+                // Otherwise the build queued by the newer invalidation publishes it
+                ready = invalidations.get() == seen;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Set<Long> missed;
+            synchronized (changedDuringBuild) {
+                missed = new HashSet<>(changedDuringBuild);
+                changedDuringBuild.clear();
+            }
+            refresh(missed);
+
+            log.info("Tag index built: {} tags in {} ms", rebuilt.size(), System.currentTimeMillis() - started);
+        } finally {
+            building = false;
+        }
+    }
+
+    private int toIndexId(Long id) {
+        if (id > Integer.MAX_VALUE) {
+            ready = false;
+            enabled = false;
+            throw new IllegalStateException("Translation id " + id + " exceeds the tag index id range; index disabled");
+        }
+        return id.intValue();
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.digitaltolk.translation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Tag name to id lookups for every write path. Tags are few and rarely change, so resolved
+ * ids are kept in a bounded cache and a write with known tags costs no query at all.
+ *
+ * <p>Missing tags are created with a native upsert ({@code ON DUPLICATE KEY UPDATE} on
+ * MySQL, {@code MERGE} on H2) and read back with a locking read, so two writers creating the
+ * same tag both end up with its id instead of one failing on {@code idx_tag_name} or not
+ * seeing the other's row. Ids resolved inside a transaction are only cached once it
+ * commits: a rolled-back tag must not stay in the cache.
+ *
+ * <p>The application never deletes or renames a tag, so a cached id is never evicted; only a
+ * change made directly in the database can make one stale, and {@code app.tags.registry.ttl}
+ * is the only bound on how long it stays cached.
+ */
+@Component
+public class TagRegistry {
+
+    private static final String SELECT_TAGS = "SELECT id, name FROM tags WHERE name IN (:names)";
+    private static final String MYSQL_UPSERT_TAG = "INSERT INTO tags (name) VALUES (?) ON DUPLICATE KEY UPDATE name = name";
+    private static final String H2_UPSERT_TAG =
+        "MERGE INTO tags t USING (VALUES (CAST(? AS VARCHAR(255)))) AS s (name) ON t.name = s.name " +
+        "WHEN NOT MATCHED THEN INSERT (name) VALUES (s.name)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.tags.registry.max-size:10000}")
+    private long maxSize;
+
+    // Bounds how long an id survives a tag deleted or renamed outside the application
+    @Value("${app.tags.registry.ttl:1h}")
+    private Duration ttl;
+
+    private Cache<String, Long> idsByName;
+    private SqlDialect dialect;
+    private String upsertTagSql;
+
+    @PostConstruct
+    public void init() {
+        idsByName = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+        dialect = SqlDialect.of(jdbcTemplate);
+        upsertTagSql = dialect.pick(MYSQL_UPSERT_TAG, H2_UPSERT_TAG);
+        meterRegistry.gauge("translation.tags.registry.size", idsByName, cache -> cache.estimatedSize());
+    }
+
+    /**
+     * Returns the id of every given tag name, creating the tags that do not exist yet in the
+     * caller's transaction.
+     */
+    public Map<String, Long> resolve(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>(idsByName.getAllPresent(names));
+        List<String> missing = names.stream().filter(name -> !ids.containsKey(name)).distinct().sorted().toList();
+        meterRegistry.counter("translation.tags.registry.lookups", "outcome", "hit").increment(ids.size());
+        if (missing.isEmpty()) {
+            return ids;
+        }
+        meterRegistry.counter("translation.tags.registry.lookups", "outcome", "miss").increment(missing.size());
+
+        Map<String, Long> loaded = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_TAGS, Map.of("names", missing),
+            rs -> { loaded.put(rs.getString("name"), rs.getLong("id")); });
+
+        List<String> created = missing.stream().filter(name -> !loaded.containsKey(name)).toList();
+        if (!created.isEmpty()) {
+            // Sorted, so concurrent writers take the index locks in the same order
+            dialect.upsertAll(jdbcTemplate, upsertTagSql, created, (ps, name) -> ps.setString(1, name));
+            namedJdbcTemplate.query(SELECT_TAGS + dialect.lockingRead(), Map.of("names", created),
+                rs -> { loaded.put(rs.getString("name"), rs.getLong("id")); });
+            List<String> lost = created.stream().filter(name -> !loaded.containsKey(name)).toList();
+            if (!lost.isEmpty()) {
+                throw new IllegalStateException("Tags could not be resolved: " + lost);
+            }
+            meterRegistry.counter("translation.tags.registry.created").increment(created.size());
+        }
+
+        cacheAfterCommit(loaded);
+        ids.putAll(loaded);
+        return ids;
+    }
+
+    // For operations that must not create the tag, e.g. removing it from translations
+    public Optional<Long> find(String name) {
+        Long id = idsByName.getIfPresent(name);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        Map<String, Long> loaded = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_TAGS, Map.of("names", List.of(name)),
+            rs -> { loaded.put(rs.getString("name"), rs.getLong("id")); });
+        cacheAfterCommit(loaded);
+        return Optional.ofNullable(loaded.get(name));
+    }
+
+    private void cacheAfterCommit(Map<String, Long> loaded) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idsByName.putAll(loaded);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idsByName.putAll(loaded);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TagAssignmentDto;
+import com.digitaltolk.translation.dto.TagAssignmentResultDto;
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a tag to, or removes it from, every translation matching a key prefix, locale and/or
+ * id list with set-based statements, instead of loading and saving each translation.
+ * Only links change: content, {@code updated_at} and the change log are untouched, since
+ * exports do not carry tags.
+ *
+ * <p>Each operation is one {@code INSERT ... SELECT} or {@code DELETE} over the selector, so no
+ * ids travel between the application and the database. The matching ids are read back afterwards
+ * with a locking read, up to {@code app.tags.bulk.max-listed-ids}: that covers every changed row,
+ * including ones committed in between, and the operation publishes one event listing them. A
+ * larger selection publishes {@link TranslationChangedEvent#allTranslations()} instead.
+ */
+@Service
+@Transactional
+public class TagService {
+
+    private static final Logger log = LoggerFactory.getLogger(TagService.class);
+
+    // '!' rather than a backslash: MySQL and H2 disagree on backslashes in string literals
+    private static final char LIKE_ESCAPE = '!';
+
+    private static final String MATCHING =
+        " FROM translations t JOIN translation_keys k ON k.id = t.key_id WHERE ";
+    private static final String LINKED =
+        "EXISTS (SELECT 1 FROM translation_tags tt WHERE tt.translation_id = t.id AND tt.tag_id = :tagId)";
+    private static final String LINK = "INSERT INTO translation_tags (translation_id, tag_id) SELECT t.id, :tagId";
+    private static final String UNLINK = "DELETE FROM translation_tags WHERE tag_id = :tagId AND translation_id IN (SELECT t.id";
+
+    @Value("${app.tags.bulk.max-listed-ids:5000}")
+    private int maxListedIds;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TagRegistry tagRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SqlDialect dialect;
+
+    @PostConstruct
+    public void selectDialect() {
+        dialect = SqlDialect.of(jdbcTemplate);
+    }
+
+    public TagAssignmentResultDto assign(String tagName, TagAssignmentDto selection) {
+        long started = System.nanoTime();
+        MapSqlParameterSource params = parameters(selection);
+        String where = where(selection);
+        long tagId = tagRegistry.resolve(List.of(tagName)).get(tagName);
+        params.addValue("tagId", tagId);
+
+        int linked = namedJdbcTemplate.update(LINK + MATCHING + where + " AND NOT " + LINKED, params);
+        return finish(tagName, "assign", params, where, linked, started);
+    }
+
+    public TagAssignmentResultDto unassign(String tagName, TagAssignmentDto selection) {
+        long started = System.nanoTime();
+        Optional<Long> tagId = tagRegistry.find(tagName);
+        if (tagId.isEmpty()) {
+            return finish(tagName, "unassign", null, null, 0, started);
+        }
+        MapSqlParameterSource params = parameters(selection);
+        String where = where(selection);
+        params.addValue("tagId", tagId.get());
+
+        int unlinked = namedJdbcTemplate.update(UNLINK + MATCHING + where + ")", params);
+        return finish(tagName, "unassign", params, where, unlinked, started);
+    }
+
+    private TagAssignmentResultDto finish(String tagName, String operation, MapSqlParameterSource params, String where,
+                                          int rows, long started) {
+        // Locales stay empty: tags are not part of any export, so snapshots remain valid
+        if (rows > 0) {
+            eventPublisher.publishEvent(changedEvent(params, where));
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        meterRegistry.timer("translation.tags.bulk", "operation", operation).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("translation.tags.bulk.rows", "operation", operation).increment(rows);
+        long elapsedMs = elapsedNanos / 1_000_000;
+        log.info("Tag '{}' {}: {} translations in {} ms", tagName, operation, rows, elapsedMs);
+        return new TagAssignmentResultDto(tagName, operation, rows, elapsedMs);
+    }
+
+    /**
+     * The selection's ids, read after the write so the locking read also sees rows committed
+     * since this transaction's snapshot, which the write matched as well. Listing the whole
+     * selection rather than only the changed rows costs listeners an idempotent refresh.
+     */
+    private TranslationChangedEvent changedEvent(MapSqlParameterSource params, String where) {
+        List<Long> selected = namedJdbcTemplate.queryForList(
+            "SELECT t.id" + MATCHING + where + " LIMIT " + (maxListedIds + 1) + dialect.lockingRead(), params, Long.class);
+        if (selected.size() > maxListedIds) {
+            return TranslationChangedEvent.allTranslations();
+        }
+        return new TranslationChangedEvent(selected, Set.of());
+    }
+
+    private static String where(TagAssignmentDto selection) {
+        if (!selection.hasSelector()) {
+            throw new IllegalArgumentException("Select translations by keyPrefix, locale or ids");
+        }
+        List<String> conditions = new ArrayList<>();
+        if (selection.getKeyPrefix() != null && !selection.getKeyPrefix().isEmpty()) {
+            conditions.add("k.name LIKE :keyPrefix ESCAPE '" + LIKE_ESCAPE + "'");
+        }
+        if (selection.getLocale() != null && !selection.getLocale().isEmpty()) {
+            conditions.add("t.locale = :locale");
+        }
+        if (selection.getIds() != null && !selection.getIds().isEmpty()) {
+            conditions.add("t.id IN (:ids)");
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private static MapSqlParameterSource parameters(TagAssignmentDto selection) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (selection.getKeyPrefix() != null) {
+            params.addValue("keyPrefix", startsWith(selection.getKeyPrefix()));
+        }
+        params.addValue("locale", selection.getLocale());
+        params.addValue("ids", selection.getIds());
+        return params;
+    }
+
+    private static String startsWith(String prefix) {
+        String escaped = prefix
+            .replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_");
+        return escaped + "%";
+    }
+
+}
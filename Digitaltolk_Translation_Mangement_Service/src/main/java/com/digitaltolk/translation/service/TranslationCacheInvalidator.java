@@ -0,0 +1,93 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Evicts only what a committed write can have made stale: the touched translation ids in
+ * "translations" and every export variant (full and lastUpdate-keyed) of the touched locales
+ * in "translationExport". Other locales stay cached. A change too large to list by id clears
+ * "translations" as a whole.
+ */
+@Component
+public class TranslationCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        Cache translations = cacheManager.getCache("translations");
+        if (translations != null && event.isAllTranslations()) {
+            translations.clear();
+        } else if (translations != null) {
+            event.getTranslationIds().forEach(translations::evict);
+            evicted("translations").increment(event.getTranslationIds().size());
+        }
+
+        Cache exports = cacheManager.getCache("translationExport");
+        if (exports != null) {
+            evictExports(exports, event.getLocales());
+        }
+    }
+
+    private void evictExports(Cache exports, Set<String> locales) {
+        Map<?, ?> entries = entriesOf(exports);
+        if (entries == null) {
+            exports.clear();
+            return;
+        }
+
+        // Export keys are "<locale>_<lastUpdate>"; LocalDateTime and "null" never contain '_'
+        Predicate<Object> stale = key -> {
+            String value = String.valueOf(key);
+            int separator = value.lastIndexOf('_');
+            return separator > 0 && locales.contains(value.substring(0, separator));
+        };
+
+        int total = entries.size();
+        int removed = 0;
+        for (Object key : Set.copyOf(entries.keySet())) {
+            if (stale.test(key)) {
+                exports.evict(key);
+                removed++;
+            }
+        }
+        evicted("translationExport").increment(removed);
+        retained("translationExport").increment(Math.max(0, total - removed));
+    }
+
+    private static Map<?, ?> entriesOf(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return caffeine.asMap();
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return map;
+        }
+        return null;
+    }
+
+    private Counter evicted(String cacheName) {
+        return meterRegistry.counter("translation.cache.evicted", "cache", cacheName);
+    }
+
+    // Entries an allEntries eviction would have flushed but the targeted invalidation kept
+    private Counter retained(String cacheName) {
+        return meterRegistry.counter("translation.cache.retained", "cache", cacheName);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.repo.TranslationEntryView;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes export entries as a flat JSON object ({"key": "content", ...}) token by token,
+ * so memory use stays constant no matter how many keys a locale holds.
+ */
+@Component
+public class TranslationExportWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public TranslationExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(Stream<? extends TranslationEntryView> entries, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // The caller owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            try {
+                entries.forEach(entry -> {
+                    try {
+                        generator.writeStringField(entry.getTranslationKey(), entry.getContent());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.config.ExecutionMode;
+import com.digitaltolk.translation.dto.ImportReportDto;
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Bulk import: parses translations from the request body one record at a time and hands
+ * them to {@link BulkTranslationWriter} in chunks, each committed in its own transaction.
+ * Parsing and writing run on separate threads joined by a bounded queue, so a slow database
+ * blocks the parser instead of letting parsed chunks pile up on the heap.
+ */
+@Service
+public class TranslationImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final List<TranslationDto> END_OF_INPUT = new ArrayList<>();
+
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.import.queue-capacity:2}")
+    private int queueCapacity;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final ThreadPoolExecutor writers;
+
+    public TranslationImportService(ObjectMapper objectMapper, ExecutionMode executionMode,
+                                    @Value("${app.import.max-concurrent:2}") int maxConcurrent) {
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(TranslationDto.class);
+        // No queue: an import beyond the limit is rejected rather than parked behind the others
+        this.writers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), executionMode.threadFactory("import-writer-"));
+        this.writers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Reads a top-level JSON array element by element, or NDJSON value by value.
+     */
+    public ImportReportDto importTranslations(InputStream body) throws IOException {
+        return importTranslations(body, null);
+    }
+
+    /**
+     * Same, reporting progress to a background job and stopping at the next chunk once the
+     * job is cancelled.
+     */
+    public ImportReportDto importTranslations(InputStream body, BulkJob job) throws IOException {
+        try (MappingIterator<TranslationDto> rows = reader.readValues(body)) {
+            return importTranslations(rows, job);
+        }
+    }
+
+    /**
+     * Reads a flat {@code {"key": "content", ...}} object for one locale, the same shape the
+     * export endpoint produces.
+     */
+    public ImportReportDto importLocale(String locale, InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object of translation key to content");
+            }
+            return importTranslations(new LocaleMapIterator(parser, locale));
+        }
+    }
+
+    public ImportReportDto importTranslations(Iterator<TranslationDto> rows) {
+        return importTranslations(rows, null);
+    }
+
+    private ImportReportDto importTranslations(Iterator<TranslationDto> rows, BulkJob job) {
+        long started = System.nanoTime();
+        ImportReportDto report = new ImportReportDto();
+        BlockingQueue<List<TranslationDto>> queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Future<?> writer;
+        try {
+            writer = writers.submit(() -> drain(queue, report, started, job));
+        } catch (RejectedExecutionException e) {
+            throw new RejectedExecutionException("Too many imports running, retry later");
+        }
+
+        RuntimeException failure = null;
+        long rowNumber = 0;
+        try {
+            List<TranslationDto> chunk = new ArrayList<>(chunkSize);
+            while (!writer.isDone() && (job == null || !job.isCancelRequested()) && rows.hasNext()) {
+                TranslationDto dto = rows.next();
+                rowNumber++;
+                String error = validate(dto);
+                if (error != null) {
+                    report.reject("Row " + rowNumber + ": " + error, MAX_REPORTED_ERRORS);
+                    meterRegistry.counter("translation.import.rows", "outcome", "rejected").increment();
+                    continue;
+                }
+                chunk.add(dto);
+                if (chunk.size() >= chunkSize) {
+                    enqueue(queue, chunk, writer);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                enqueue(queue, chunk, writer);
+            }
+        } catch (IllegalStateException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            // Malformed input cannot be resynchronized; chunks parsed before it are still written
+            failure = new IllegalArgumentException("Malformed input after row " + rowNumber + ": " + e.getMessage(), e);
+        }
+
+        enqueue(queue, END_OF_INPUT, writer);
+        awaitWriter(writer);
+        if (failure != null) {
+            throw failure;
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        meterRegistry.timer("translation.import", "source", job != null ? "job" : "request")
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        report.finish(elapsedNanos / 1_000_000);
+        log.info("Bulk import finished: {} rows ({} inserted, {} updated, {} unchanged, {} rejected) in {} ms, {} rows/s",
+            report.getRows(), report.getInserted(), report.getUpdated(), report.getUnchanged(),
+            report.getRejected(), report.getElapsedMs(), report.getRowsPerSecond());
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+
+    private void drain(BlockingQueue<List<TranslationDto>> queue, ImportReportDto report, long started, BulkJob job) {
+        try {
+            for (List<TranslationDto> chunk = queue.take(); chunk != END_OF_INPUT; chunk = queue.take()) {
+                report.addChunk(bulkWriter.write(chunk));
+                if (job != null) {
+                    job.addRows(chunk.size());
+                }
+                long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+                log.info("Bulk import progress: {} rows in {} ms, {} rows/s",
+                    report.getRows(), elapsedMs, ImportReportDto.ratePerSecond(report.getRows(), elapsedMs));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void enqueue(BlockingQueue<List<TranslationDto>> queue, List<TranslationDto> chunk, Future<?> writer) {
+        try {
+            // Blocks while the writer is behind; gives up once the writer has stopped
+            while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    private static void awaitWriter(Future<?> writer) {
+        try {
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Import failed", e.getCause());
+        }
+    }
+
+    private String validate(TranslationDto dto) {
+        if (dto == null) {
+            return "Empty record";
+        }
+        Set<ConstraintViolation<TranslationDto>> violations = validator.validate(dto);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private static class LocaleMapIterator implements Iterator<TranslationDto> {
+        private final JsonParser parser;
+        private final String locale;
+        private Boolean hasNext;
+
+        LocaleMapIterator(JsonParser parser, String locale) {
+            this.parser = parser;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = parser.nextToken() == JsonToken.FIELD_NAME;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public TranslationDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                TranslationDto dto = new TranslationDto();
+                dto.setTranslationKey(parser.currentName());
+                dto.setLocale(locale);
+                if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                    dto.setContent(parser.getText());
+                } else {
+                    // Left without content so validation rejects it
+                    parser.skipChildren();
+                }
+                return dto;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.entity.Tag;
+import com.digitaltolk.translation.entity.Translation;
+import com.digitaltolk.translation.entity.TranslationKey;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Entity/DTO conversion used on every read path; kept separate so it can be benchmarked.
+ */
+public final class TranslationMapper {
+
+    private TranslationMapper() {}
+
+    public static TranslationDto toDto(Translation translation, Set<String> tagNames) {
+        TranslationDto dto = new TranslationDto();
+        dto.setId(translation.getId());
+        dto.setTranslationKey(translation.getTranslationKey());
+        dto.setLocale(translation.getLocale());
+        dto.setContent(translation.getContent());
+        dto.setCreatedAt(translation.getCreatedAt());
+        dto.setUpdatedAt(translation.getUpdatedAt());
+        
+        if (!tagNames.isEmpty()) {
+            dto.setTags(tagNames);
+        }
+        
+        return dto;
+    }
+    
+    // For entities whose tags are already initialized (freshly written ones)
+    public static TranslationDto toDto(Translation translation) {
+        Set<String> tagNames = translation.getTags().stream()
+            .map(Tag::getName)
+            .collect(Collectors.toSet());
+        return toDto(translation, tagNames);
+    }
+    
+    // The key is resolved by the caller, since it is a row of its own in the key dictionary
+    public static Translation toEntity(TranslationDto dto, TranslationKey key) {
+        Translation translation = new Translation();
+        translation.setDictionaryKey(key);
+        translation.setLocale(dto.getLocale());
+        translation.setContent(dto.getContent());
+        return translation;
+    }
+
+}
@@ -0,0 +1,513 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.config.ExecutionMode;
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import com.digitaltolk.translation.repo.TranslationRepository;
+import com.digitaltolk.translation.repo.TranslationRowView;
+import com.digitaltolk.translation.repo.TranslationTagView;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process copy of every translation, so exports, single lookups and the locale list
+ * are answered without a database connection. Each locale is a {@link LocaleTable}; keys and tag
+ * names are interned once in dictionaries shared by all locales.
+ *
+ * <p>Readers take one volatile read of the current {@link Snapshot} and never lock. Committed
+ * writes are queued and applied on a single refresh thread: it takes every change queued so far,
+ * re-reads the touched rows and publishes one new snapshot in which only the touched locales'
+ * tables are replaced. Until then the touched ids and locales are not {@link #isCurrent current},
+ * and callers read them from the database. Until the startup load finishes, after a refresh
+ * failed, or after a change too large to list by id, {@link #isReady()} is false and callers use
+ * the database for everything until the model is reloaded.
+ */
+@Component
+public class TranslationReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationReadModel.class);
+
+    @Value("${app.read-model.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService refreshExecutor;
+    private final ExecutorService buildExecutor;
+    private final Object refreshMonitor = new Object();
+    private final Set<Long> changedDuringBuild = Collections.synchronizedSet(new HashSet<>());
+    // Bumped by every change too large to list; a load that saw a bump while it ran is not published
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Committed changes not applied yet, with the sequence number of their latest event
+    private final Object pendingMonitor = new Object();
+    private final Map<Long, Long> pendingIds = new HashMap<>();
+    private final Map<String, Long> pendingLocales = new HashMap<>();
+    private long pendingSequence;
+    private boolean drainQueued;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean building;
+
+    public TranslationReadModel(PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                ExecutionMode executionMode) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshExecutor = Executors.newSingleThreadExecutor(executionMode.threadFactory("read-model-refresh-"));
+        this.buildExecutor = Executors.newSingleThreadExecutor(executionMode.threadFactory("read-model-build-"));
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("translation.read-model.rows", this, model -> model.snapshot != null ? model.snapshot.rows : 0)
+            .description("Translations held by the in-memory read model")
+            .register(meterRegistry);
+        Gauge.builder("translation.read-model.bytes", this, model -> model.snapshot != null ? model.snapshot.bytes : 0)
+            .description("Approximate heap held by the read model's tables and dictionaries")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+        buildExecutor.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    /**
+     * Ready, with no committed change to this translation still waiting to be applied.
+     */
+    public boolean isCurrent(long id) {
+        if (!isReady()) {
+            return false;
+        }
+        synchronized (pendingMonitor) {
+            return !pendingIds.containsKey(id);
+        }
+    }
+
+    /**
+     * Ready, with no committed change to this locale still waiting to be applied.
+     */
+    public boolean isCurrent(String locale) {
+        if (!isReady()) {
+            return false;
+        }
+        synchronized (pendingMonitor) {
+            return !pendingLocales.containsKey(locale);
+        }
+    }
+
+    // For the locale list, which any pending change may extend
+    public boolean isCurrent() {
+        if (!isReady()) {
+            return false;
+        }
+        synchronized (pendingMonitor) {
+            return pendingIds.isEmpty() && pendingLocales.isEmpty();
+        }
+    }
+
+    public Optional<TranslationDto> find(long id) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        for (Map.Entry<String, LocaleTable> entry : current.tables.entrySet()) {
+            LocaleTable table = entry.getValue();
+            int row = table.rowOf(id);
+            if (row >= 0) {
+                return Optional.of(toDto(current, entry.getKey(), table, row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<String> getLocales() {
+        Snapshot current = snapshot;
+        return current != null ? new ArrayList<>(current.tables.keySet()) : List.of();
+    }
+
+    /**
+     * Key to content for a locale, optionally only rows updated after {@code updatedAfter}.
+     */
+    public Map<String, String> export(String locale, LocalDateTime updatedAfter) {
+        Snapshot current = snapshot;
+        LocaleTable table = current != null ? current.tables.get(locale) : null;
+        if (table == null) {
+            return new HashMap<>();
+        }
+        long after = updatedAfter != null ? toMicros(updatedAfter) : Long.MIN_VALUE;
+        Map<String, String> export = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            if (table.updatedAt[row] > after) {
+                export.put(current.keys.get(table.keyIds[row]),
+                    new String(table.content, table.contentOffsets[row], table.contentLength(row), StandardCharsets.UTF_8));
+            }
+        }
+        return export;
+    }
+
+    /**
+     * Same JSON as {@link TranslationExportWriter}; contents are copied to the output as stored
+     * UTF-8 bytes, without decoding them to strings first.
+     */
+    public void writeExport(String locale, LocalDateTime updatedAfter, OutputStream out) throws IOException {
+        Snapshot current = snapshot;
+        LocaleTable table = current != null ? current.tables.get(locale) : null;
+        long after = updatedAfter != null ? toMicros(updatedAfter) : Long.MIN_VALUE;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // The caller owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            if (table != null) {
+                for (int row = 0; row < table.size(); row++) {
+                    if (table.updatedAt[row] > after) {
+                        generator.writeFieldName(current.keys.get(table.keyIds[row]));
+                        generator.writeUTF8String(table.content, table.contentOffsets[row], table.contentLength(row));
+                    }
+                }
+            }
+            generator.writeEndObject();
+        } finally {
+            sample.stop(meterRegistry.timer("translation.export.serialize",
+                "locale", locale, "mode", updatedAfter != null ? "incremental" : "full", "source", "memory"));
+        }
+    }
+
+    /**
+     * Runs before every other listener of the event: the snapshot generation bump and the cache
+     * evictions must not happen while the touched ids and locales still count as current, or an
+     * export or lookup in between would capture the old rows under the new generation.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isAllTranslations()) {
+            synchronized (refreshMonitor) {
+                invalidations.incrementAndGet();
+                snapshot = null;
+            }
+            rebuildAsync();
+            return;
+        }
+        if (building) {
+            changedDuringBuild.addAll(event.getTranslationIds());
+        }
+        if (event.getTranslationIds().isEmpty()) {
+            return;
+        }
+        // The committing thread only queues the change; the refresh thread reads and applies it
+        synchronized (pendingMonitor) {
+            long sequence = ++pendingSequence;
+            event.getTranslationIds().forEach(id -> pendingIds.put(id, sequence));
+            event.getLocales().forEach(locale -> pendingLocales.put(locale, sequence));
+            if (!drainQueued) {
+                drainQueued = true;
+                refreshExecutor.execute(this::drainPending);
+            }
+        }
+    }
+
+    /**
+     * Applies every change queued so far as one refresh, so a burst of writes to a locale
+     * copies its table once rather than once per write.
+     */
+    private void drainPending() {
+        Set<Long> ids;
+        Set<String> locales;
+        long appliedSequence;
+        synchronized (pendingMonitor) {
+            drainQueued = false;
+            ids = new HashSet<>(pendingIds.keySet());
+            locales = new HashSet<>(pendingLocales.keySet());
+            appliedSequence = pendingSequence;
+        }
+        try {
+            refresh(ids, locales);
+        } finally {
+            // Changes queued while this refresh ran stay pending for the next one
+            synchronized (pendingMonitor) {
+                pendingIds.values().removeIf(sequence -> sequence <= appliedSequence);
+                pendingLocales.values().removeIf(sequence -> sequence <= appliedSequence);
+            }
+        }
+    }
+
+    /**
+     * Re-reads the given translations and replaces the tables of their old and new locales.
+     * A refresh that fails leaves the model not ready and reloads it, rather than serving a
+     * copy that missed a write.
+     */
+    public void refresh(Collection<Long> translationIds, Collection<String> locales) {
+        if (translationIds.isEmpty()) {
+            return;
+        }
+        // One refresh at a time, so an older read can never overwrite a newer one
+        synchronized (refreshMonitor) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            try {
+                snapshot = apply(current, translationIds, locales);
+            } catch (RuntimeException e) {
+                log.error("Read model refresh failed; falling back to the database until it is reloaded", e);
+                snapshot = null;
+                rebuildAsync();
+            }
+        }
+    }
+
+    public void rebuild() {
+        building = true;
+        try {
+            long seen = invalidations.get();
+            long started = System.currentTimeMillis();
+            StringDictionary keys = new StringDictionary(1024);
+            StringDictionary tagNames = new StringDictionary(64);
+            Map<String, LocaleTable.Builder> builders = new HashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                TagLinks links = loadTagLinks(tagNames);
+                try (Stream<TranslationRowView> rows = translationRepository.streamRows()) {
+                    rows.forEach(row -> {
+                        long id = row.getId();
+                        int tagsFrom = links.seek(id);
+                        int tagsTo = links.end(tagsFrom, id);
+                        builders.computeIfAbsent(row.getLocale(), locale -> new LocaleTable.Builder(1024, 64 * 1024))
+                            .add(id, keys.intern(row.getTranslationKey()), utf8(row.getContent()),
+                                toMicros(row.getCreatedAt()), toMicros(row.getUpdatedAt()), links.tagIds, tagsFrom, tagsTo);
+                    });
+                }
+            });
+
+            Map<String, LocaleTable> tables = new HashMap<>();
+            builders.forEach((locale, builder) -> tables.put(locale, builder.build()));
+            Snapshot loaded = new Snapshot(keys, tagNames, tables);
+            synchronized (refreshMonitor) {
+                if (invalidations.get() != seen) {
+                    // The load queued by the newer invalidation replaces this one
+                    return;
+                }
+                snapshot = loaded;
+            }
+
+            Set<Long> missed;
+            synchronized (changedDuringBuild) {
+                missed = new HashSet<>(changedDuringBuild);
+                changedDuringBuild.clear();
+            }
+            refresh(missed, tables.keySet());
+
+            log.info("Read model loaded: {} translations, {} locales, {} keys, ~{} MB in {} ms",
+                loaded.rows, tables.size(), keys.size(), loaded.bytes / (1024 * 1024), System.currentTimeMillis() - started);
+        } finally {
+            building = false;
+        }
+    }
+
+    private void rebuildAsync() {
+        // Set before the load starts, so writes committed in between are queued for replay
+        building = true;
+        CompletableFuture.runAsync(this::rebuild, buildExecutor).exceptionally(error -> {
+            log.error("Read model load failed", error);
+            return null;
+        });
+    }
+
+    private Snapshot apply(Snapshot current, Collection<Long> translationIds, Collection<String> locales) {
+        // Read in batches but merged once, so a large change copies each touched table only once
+        List<TranslationRowView> rows = new ArrayList<>();
+        Map<Long, List<String>> tagsById = new HashMap<>();
+        for (List<Long> batch : IdBatches.of(translationIds)) {
+            rows.addAll(translationRepository.findRowsByIds(batch));
+            for (TranslationTagView link : translationRepository.findTagNamesByTranslationIds(batch)) {
+                tagsById.computeIfAbsent(link.getTranslationId(), id -> new ArrayList<>()).add(link.getTagName());
+            }
+        }
+
+        Map<String, List<LocaleTable.Row>> added = new HashMap<>();
+        for (TranslationRowView row : rows) {
+            List<String> tags = tagsById.getOrDefault(row.getId(), List.of());
+            int[] tagIds = new int[tags.size()];
+            for (int i = 0; i < tagIds.length; i++) {
+                tagIds[i] = current.tagNames.intern(tags.get(i));
+            }
+            added.computeIfAbsent(row.getLocale(), locale -> new ArrayList<>()).add(new LocaleTable.Row(
+                row.getId(), current.keys.intern(row.getTranslationKey()), utf8(row.getContent()),
+                toMicros(row.getCreatedAt()), toMicros(row.getUpdatedAt()), tagIds));
+        }
+
+        long[] removed = translationIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        Set<String> touched = new HashSet<>(locales);
+        touched.addAll(added.keySet());
+
+        Map<String, LocaleTable> tables = new HashMap<>(current.tables);
+        for (String locale : touched) {
+            List<LocaleTable.Row> localeRows = added.getOrDefault(locale, List.of());
+            if (localeRows.isEmpty() && !tables.containsKey(locale)) {
+                continue;
+            }
+            localeRows.sort(Comparator.comparingLong(row -> row.id));
+            LocaleTable merged = LocaleTable.merge(tables.get(locale), removed, localeRows);
+            if (merged.size() == 0) {
+                tables.remove(locale);
+            } else {
+                tables.put(locale, merged);
+            }
+        }
+        return new Snapshot(current.keys, current.tagNames, tables);
+    }
+
+    /**
+     * All tag links as two parallel primitive arrays ordered by translation id, so the row stream
+     * can pick up each row's tags with a moving cursor.
+     */
+    private TagLinks loadTagLinks(StringDictionary tagNames) {
+        TagLinks links = new TagLinks();
+        try (Stream<TranslationTagView> stream = translationRepository.streamTagLinksOrderedById()) {
+            stream.forEach(link -> links.add(link.getTranslationId(), tagNames.intern(link.getTagName())));
+        }
+        return links;
+    }
+
+    private static TranslationDto toDto(Snapshot snapshot, String locale, LocaleTable table, int row) {
+        TranslationDto dto = new TranslationDto();
+        dto.setId(table.ids[row]);
+        dto.setTranslationKey(snapshot.keys.get(table.keyIds[row]));
+        dto.setLocale(locale);
+        dto.setContent(new String(table.content, table.contentOffsets[row], table.contentLength(row), StandardCharsets.UTF_8));
+        dto.setCreatedAt(fromMicros(table.createdAt[row]));
+        dto.setUpdatedAt(fromMicros(table.updatedAt[row]));
+
+        int from = table.tagOffsets[row];
+        int to = table.tagOffsets[row + 1];
+        if (to > from) {
+            Set<String> tags = new HashSet<>();
+            for (int i = from; i < to; i++) {
+                tags.add(snapshot.tagNames.get(table.tagIds[i]));
+            }
+            dto.setTags(tags);
+        }
+        return dto;
+    }
+
+    private static byte[] utf8(String content) {
+        return content != null ? content.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * One published version of the model. Immutable apart from the dictionaries, which only grow.
+     */
+    private static final class Snapshot {
+        final StringDictionary keys;
+        final StringDictionary tagNames;
+        final Map<String, LocaleTable> tables;
+        final long rows;
+        final long bytes;
+
+        Snapshot(StringDictionary keys, StringDictionary tagNames, Map<String, LocaleTable> tables) {
+            this.keys = keys;
+            this.tagNames = tagNames;
+            this.tables = Map.copyOf(tables);
+            this.rows = tables.values().stream().mapToLong(LocaleTable::size).sum();
+            this.bytes = keys.estimatedBytes() + tagNames.estimatedBytes()
+                + tables.values().stream().mapToLong(LocaleTable::estimatedBytes).sum();
+        }
+    }
+
+    private static final class TagLinks {
+        long[] translationIds = new long[1024];
+        int[] tagIds = new int[1024];
+        int size;
+        int cursor;
+
+        void add(long translationId, int tagId) {
+            if (size == translationIds.length) {
+                translationIds = Arrays.copyOf(translationIds, size * 2);
+                tagIds = Arrays.copyOf(tagIds, size * 2);
+            }
+            translationIds[size] = translationId;
+            tagIds[size++] = tagId;
+        }
+
+        // Rows arrive in ascending id order, so the cursor only moves forward
+        int seek(long translationId) {
+            while (cursor < size && translationIds[cursor] < translationId) {
+                cursor++;
+            }
+            return cursor;
+        }
+
+        int end(int from, long translationId) {
+            int end = from;
+            while (end < size && translationIds[end] == translationId) {
+                end++;
+            }
+            cursor = end;
+            return end;
+        }
+    }
+
+}
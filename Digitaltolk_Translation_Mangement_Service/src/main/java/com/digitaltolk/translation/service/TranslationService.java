@@ -1,25 +1,45 @@
 package com.digitaltolk.translation.service;
 
 
+import com.digitaltolk.translation.dto.DeltaExportDto;
+import com.digitaltolk.translation.dto.ImportReportDto;
 import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.dto.TranslationPatchDto;
+import com.digitaltolk.translation.dto.TranslationSliceDto;
 import com.digitaltolk.translation.entity.Tag;
 import com.digitaltolk.translation.entity.Translation;
+import com.digitaltolk.translation.entity.TranslationChange;
+import com.digitaltolk.translation.entity.TranslationKey;
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import com.digitaltolk.translation.repo.KeysetCursor;
 import com.digitaltolk.translation.repo.TagRepository;
+import com.digitaltolk.translation.repo.TranslationEntryView;
+import com.digitaltolk.translation.repo.TranslationFilter;
+import com.digitaltolk.translation.repo.TranslationKeyRepository;
 import com.digitaltolk.translation.repo.TranslationRepository;
+import com.digitaltolk.translation.repo.TranslationTagView;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -31,13 +51,48 @@ public class TranslationService {
     @Autowired
     private TagRepository tagRepository;
     
-    @CacheEvict(value = {"translations", "translationExport"}, allEntries = true)
+    @Autowired
+    private TranslationKeyRepository translationKeyRepository;
+    
+    @Autowired
+    private TagRegistry tagRegistry;
+    
+    @Autowired
+    private TranslationExportWriter exportWriter;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ChangeLogService changeLogService;
+    
+    @Autowired
+    private ContentSearchIndex searchIndex;
+    
+    @Autowired
+    private TagFilterIndex tagIndex;
+    
+    @Autowired
+    private TranslationImportService importService;
+    
+    @Autowired
+    private TranslationReadModel readModel;
+    
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.search.index.max-candidates:20000}")
+    private int maxCandidates;
+    
     public TranslationDto createTranslation(TranslationDto dto) {
-        if (translationRepository.existsByTranslationKeyAndLocale(dto.getTranslationKey(), dto.getLocale())) {
+        if (translationRepository.existsByDictionaryKeyNameAndLocale(dto.getTranslationKey(), dto.getLocale())) {
             throw new RuntimeException("Translation already exists for key '" + dto.getTranslationKey() + "' and locale '" + dto.getLocale() + "'");
         }
         
-        Translation translation = mapToEntity(dto);
+        Translation translation = TranslationMapper.toEntity(dto, getOrCreateKey(dto.getTranslationKey()));
         
         if (dto.getTags() != null && !dto.getTags().isEmpty()) {
             Set<Tag> tags = getOrCreateTags(dto.getTags());
@@ -45,10 +100,11 @@ public class TranslationService {
         }
         
         Translation saved = translationRepository.save(translation);
-        return mapToDto(saved);
+        changeLogService.record(List.of(upsert(saved)));
+        eventPublisher.publishEvent(new TranslationChangedEvent(List.of(saved.getId()), List.of(saved.getLocale())));
+        return TranslationMapper.toDto(saved, tagNames(dto));
     }
     
-    @CacheEvict(value = {"translations", "translationExport"}, allEntries = true)
     public TranslationDto updateTranslation(Long id, TranslationDto dto) {
         Translation existing = translationRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Translation not found with id: " + id));
@@ -56,57 +112,149 @@ public class TranslationService {
         // Check if trying to update key/locale to existing combination
         if (!existing.getTranslationKey().equals(dto.getTranslationKey()) || 
             !existing.getLocale().equals(dto.getLocale())) {
-            if (translationRepository.existsByTranslationKeyAndLocale(dto.getTranslationKey(), dto.getLocale())) {
+            if (translationRepository.existsByDictionaryKeyNameAndLocale(dto.getTranslationKey(), dto.getLocale())) {
                 throw new RuntimeException("Translation already exists for key '" + dto.getTranslationKey() + "' and locale '" + dto.getLocale() + "'");
             }
         }
         
-        existing.setTranslationKey(dto.getTranslationKey());
+        String previousKey = existing.getTranslationKey();
+        String previousLocale = existing.getLocale();
+        if (!previousKey.equals(dto.getTranslationKey())) {
+            existing.setDictionaryKey(getOrCreateKey(dto.getTranslationKey()));
+        }
         existing.setLocale(dto.getLocale());
         existing.setContent(dto.getContent());
         
-        // Update tags
-        existing.getTags().clear();
-        if (dto.getTags() != null && !dto.getTags().isEmpty()) {
-            Set<Tag> tags = getOrCreateTags(dto.getTags());
-            existing.setTags(tags);
-        }
+        // Update tags in place: replacing the collection would make Hibernate delete and
+        // reinsert every link, while removing and adding elements only touches the changed ones
+        Set<Long> wantedTagIds = dto.getTags() != null && !dto.getTags().isEmpty()
+            ? new HashSet<>(tagTimer("get-or-create").record(() -> tagRegistry.resolve(dto.getTags())).values())
+            : Set.of();
+        existing.getTags().removeIf(tag -> !wantedTagIds.contains(tag.getId()));
+        Set<Long> currentTagIds = existing.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+        wantedTagIds.stream()
+            .filter(tagId -> !currentTagIds.contains(tagId))
+            .map(tagRepository::getReferenceById)
+            .forEach(existing.getTags()::add);
         
         Translation updated = translationRepository.save(existing);
-        return mapToDto(updated);
+        List<TranslationChange> changes = new ArrayList<>();
+        if (!previousKey.equals(updated.getTranslationKey()) || !previousLocale.equals(updated.getLocale())) {
+            changes.add(new TranslationChange(previousLocale, previousKey, TranslationChange.Operation.DELETE));
+        }
+        changes.add(upsert(updated));
+        changeLogService.record(changes);
+        eventPublisher.publishEvent(new TranslationChangedEvent(
+            List.of(updated.getId()), List.of(previousLocale, updated.getLocale())));
+        return TranslationMapper.toDto(updated, tagNames(dto));
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Creates or replaces the translation for the DTO's key and locale with one native upsert,
+     * so concurrent writers of the same pair never hit the unique constraint. Null tags keep
+     * the current ones.
+     */
+    public TranslationDto upsertTranslation(TranslationDto dto) {
+        TranslationDto saved = bulkWriter.upsert(dto);
+        if (saved.getTags() == null) {
+            // Without tags in the request the links are kept, and the write did not read them
+            saved.setTags(loadTagNames(List.of(saved.getId())).getOrDefault(saved.getId(), Set.of()));
+        }
+        return saved;
+    }
+    
+    /**
+     * Applies all patches in this transaction: either every row is written or none is. Rows
+     * go out as one upsert batch, so the cost per row is a batched statement, not a round trip.
+     */
+    public ImportReportDto.ChunkReport patchTranslations(List<TranslationPatchDto> patches) {
+        return bulkWriter.write(patches.stream().map(TranslationPatchDto::toTranslationDto).toList());
+    }
+    
+    // SUPPORTS: a lookup served by the read model must not check out a connection for an unused transaction
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     @Cacheable(value = "translations", key = "#id")
     public TranslationDto getTranslation(Long id) {
-        Translation translation = translationRepository.findById(id)
+        if (readModel.isCurrent(id)) {
+            return readModel.find(id)
+                .orElseThrow(() -> new RuntimeException("Translation not found with id: " + id));
+        }
+        Translation translation = translationRepository.findWithKeyById(id)
             .orElseThrow(() -> new RuntimeException("Translation not found with id: " + id));
-        return mapToDto(translation);
+        return TranslationMapper.toDto(translation, loadTagNames(List.of(id)).getOrDefault(id, Set.of()));
     }
     
-    @CacheEvict(value = {"translations", "translationExport"}, allEntries = true)
     public void deleteTranslation(Long id) {
-        if (!translationRepository.existsById(id)) {
-            throw new RuntimeException("Translation not found with id: " + id);
-        }
-        translationRepository.deleteById(id);
+        Translation existing = translationRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Translation not found with id: " + id));
+        translationRepository.delete(existing);
+        changeLogService.record(List.of(new TranslationChange(
+            existing.getLocale(), existing.getTranslationKey(), TranslationChange.Operation.DELETE)));
+        eventPublisher.publishEvent(new TranslationChangedEvent(List.of(id), List.of(existing.getLocale())));
     }
     
     @Transactional(readOnly = true)
     public Page<TranslationDto> searchTranslations(String key, String locale, String content, 
-                                                  List<String> tags, int page, int size, String sortBy, String sortDir) {
+                                                  List<String> tags, boolean matchAllTags,
+                                                  int page, int size, String sortBy, String sortDir) {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
+        Timer.Sample sample = Timer.start(meterRegistry);
         
-        Page<Translation> results;
+        Optional<TranslationFilter> filter = buildFilter(key, locale, content, tags, matchAllTags);
+        if (filter.isEmpty()) {
+            sample.stop(searchTimer("page", locale));
+            return Page.empty(pageable);
+        }
+        Page<Translation> results = translationRepository.search(filter.get(), pageable);
         
-        if (tags != null && !tags.isEmpty()) {
-            results = translationRepository.findByTagNames(tags, pageable);
-        } else {
-            results = translationRepository.searchTranslations(key, locale, content, pageable);
+        // Tags for the whole page in one query instead of one lazy load per row
+        Map<Long, Set<String>> tagNames = loadTagNames(results.getContent().stream()
+            .map(Translation::getId)
+            .collect(Collectors.toList()));
+        Page<TranslationDto> dtos = results.map(translation -> TranslationMapper.toDto(translation, tagNames.getOrDefault(translation.getId(), Set.of())));
+        sample.stop(searchTimer("page", locale));
+        return dtos;
+    }
+    
+    @Transactional(readOnly = true)
+    public TranslationSliceDto searchTranslationsKeyset(String key, String locale, String content,
+                                                       List<String> tags, boolean matchAllTags,
+                                                       int size, String sortBy, String sortDir, String cursor) {
+        if (!KeysetCursor.SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination supports sortBy " + KeysetCursor.SORTABLE_FIELDS);
         }
+        boolean ascending = Sort.Direction.fromString(sortDir).isAscending();
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor, sortBy, ascending) : null;
+        Timer.Sample sample = Timer.start(meterRegistry);
         
-        return results.map(this::mapToDto);
+        Optional<TranslationFilter> filter = buildFilter(key, locale, content, tags, matchAllTags);
+        if (filter.isEmpty()) {
+            sample.stop(searchTimer("cursor", locale));
+            return new TranslationSliceDto(List.of(), null, false, size);
+        }
+        
+        // One extra row tells us whether there is a next page without a COUNT query
+        List<Translation> rows = translationRepository.seek(filter.get(), sortBy, ascending, after, size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+        
+        Map<Long, Set<String>> tagNames = loadTagNames(rows.stream()
+            .map(Translation::getId)
+            .collect(Collectors.toList()));
+        List<TranslationDto> dtos = rows.stream()
+            .map(translation -> TranslationMapper.toDto(translation, tagNames.getOrDefault(translation.getId(), Set.of())))
+            .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasNext) {
+            Translation last = rows.get(rows.size() - 1);
+            nextCursor = new KeysetCursor(sortBy, ascending, sortValue(last, sortBy), last.getId()).encode();
+        }
+        sample.stop(searchTimer("cursor", locale));
+        return new TranslationSliceDto(dtos, nextCursor, hasNext, size);
     }
     
     @Transactional(readOnly = true)
@@ -129,66 +277,134 @@ public class TranslationService {
     }
     
     @Transactional(readOnly = true)
+    public void streamExport(String locale, LocalDateTime lastUpdate, OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Stream<TranslationEntryView> entries = lastUpdate != null
+                ? translationRepository.streamByLocaleAndUpdatedAfter(locale, lastUpdate)
+                : translationRepository.streamByLocale(locale)) {
+            exportWriter.write(entries, out);
+        } finally {
+            // Query and serialization are interleaved row by row, so they are timed together
+            sample.stop(meterRegistry.timer("translation.export.serialize",
+                "locale", locale, "mode", lastUpdate != null ? "incremental" : "full", "source", "database"));
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public DeltaExportDto exportDelta(String locale, long cursor, int limit) {
+        return changeLogService.getDelta(locale, cursor, limit);
+    }
+    
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<String> getAllLocales() {
+        if (readModel.isCurrent()) {
+            return readModel.getLocales();
+        }
         return translationRepository.findAllLocales();
     }
     
     // Bulk operations for performance testing
-    @CacheEvict(value = {"translations", "translationExport"}, allEntries = true)
-    public void bulkCreateTranslations(List<TranslationDto> translations) {
-        List<Translation> entities = translations.stream()
-            .map(this::mapToEntity)
-            .collect(Collectors.toList());
-        
-        translationRepository.saveAll(entities);
+    public ImportReportDto bulkCreateTranslations(List<TranslationDto> translations) {
+        return importService.importTranslations(translations.iterator());
+    }
+    
+    private TranslationKey getOrCreateKey(String name) {
+        return translationKeyRepository.findByName(name)
+            .orElseGet(() -> translationKeyRepository.save(new TranslationKey(name)));
     }
     
     private Set<Tag> getOrCreateTags(Set<String> tagNames) {
-        Set<Tag> existingTags = tagRepository.findByNameIn(tagNames);
-        Set<String> existingTagNames = existingTags.stream()
-            .map(Tag::getName)
-            .collect(Collectors.toSet());
-        
-        Set<Tag> newTags = tagNames.stream()
-            .filter(name -> !existingTagNames.contains(name))
-            .map(Tag::new)
+        return tagTimer("get-or-create").record(() -> findOrCreateTags(tagNames));
+    }
+    
+    // References only: the ids come from the registry, so no tag row is loaded for the link
+    private Set<Tag> findOrCreateTags(Set<String> tagNames) {
+        return tagRegistry.resolve(tagNames).values().stream()
+            .map(tagRepository::getReferenceById)
             .collect(Collectors.toSet());
-        
-        if (!newTags.isEmpty()) {
-            tagRepository.saveAll(newTags);
-            existingTags.addAll(newTags);
+    }
+    
+    private static Comparable<?> sortValue(Translation translation, String sortBy) {
+        switch (sortBy) {
+            case "updatedAt":
+                return translation.getUpdatedAt();
+            case "translationKey":
+                return translation.getTranslationKey();
+            case "keyId":
+                return translation.getDictionaryKey().getId();
+            default:
+                return translation.getId();
         }
-        
-        return existingTags;
     }
     
-    private Translation mapToEntity(TranslationDto dto) {
-        Translation translation = new Translation();
-        translation.setTranslationKey(dto.getTranslationKey());
-        translation.setLocale(dto.getLocale());
-        translation.setContent(dto.getContent());
-        return translation;
+    // The tags just written; mapping the entity's tag references would load each one
+    private static Set<String> tagNames(TranslationDto dto) {
+        return dto.getTags() != null ? dto.getTags() : Set.of();
     }
     
-    private TranslationDto mapToDto(Translation translation) {
-        TranslationDto dto = new TranslationDto();
-        dto.setId(translation.getId());
-        dto.setTranslationKey(translation.getTranslationKey());
-        dto.setLocale(translation.getLocale());
-        dto.setContent(translation.getContent());
-        dto.setCreatedAt(translation.getCreatedAt());
-        dto.setUpdatedAt(translation.getUpdatedAt());
+    private TranslationChange upsert(Translation translation) {
+        return new TranslationChange(translation.getLocale(), translation.getTranslationKey(), TranslationChange.Operation.UPSERT);
+    }
+    
+    /**
+     * Resolves what the in-memory indexes can answer (substring candidates, tag sets) into one
+     * candidate bitmap and leaves the rest to the database. Empty when nothing can match.
+     */
+    private Optional<TranslationFilter> buildFilter(String key, String locale, String content,
+                                                    List<String> tags, boolean matchAllTags) {
+        return meterRegistry.timer("translation.search.filter")
+            .record(() -> resolveFilter(key, locale, content, tags, matchAllTags));
+    }
+    
+    private Optional<TranslationFilter> resolveFilter(String key, String locale, String content,
+                                                      List<String> tags, boolean matchAllTags) {
+        Set<String> tagNames = tags != null && !tags.isEmpty() ? new HashSet<>(tags) : null;
         
-        if (!translation.getTags().isEmpty()) {
-            Set<String> tagNames = translation.getTags().stream()
-                .map(Tag::getName)
-                .collect(Collectors.toSet());
-            dto.setTags(tagNames);
+        RoaringBitmap candidates = searchIndex.candidates(key, content).orElse(null);
+        boolean tagsResolved = false;
+        if (tagNames != null) {
+            Optional<RoaringBitmap> tagged = tagTimer("match").record(() -> tagIndex.match(tagNames, matchAllTags));
+            if (tagged.isPresent()) {
+                tagsResolved = true;
+                candidates = candidates == null ? tagged.get() : RoaringBitmap.and(candidates, tagged.get());
+            }
         }
         
-        return dto;
-
-}
+        if (candidates != null && candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        if (candidates != null && candidates.getCardinality() > maxCandidates) {
+            // Too many ids for an IN list; the filters are cheaper to evaluate in the database
+            candidates = null;
+            tagsResolved = false;
+        }
+        
+        List<Long> candidateIds = null;
+        if (candidates != null) {
+            candidateIds = new ArrayList<>(candidates.getCardinality());
+            for (int id : candidates) {
+                candidateIds.add((long) id);
+            }
+        }
+        return Optional.of(new TranslationFilter(key, locale, content, candidateIds,
+            tagsResolved ? null : tagNames, matchAllTags));
+    }
+    
+    private Map<Long, Set<String>> loadTagNames(Collection<Long> translationIds) {
+        if (translationIds.isEmpty()) {
+            return Map.of();
+        }
+        return tagTimer("load").record(() -> translationRepository.findTagNamesByTranslationIds(translationIds).stream()
+            .collect(Collectors.groupingBy(
+                TranslationTagView::getTranslationId,
+                Collectors.mapping(TranslationTagView::getTagName, Collectors.toSet()))));
+    }
+    
+    private Timer searchTimer(String mode, String locale) {
+        return meterRegistry.timer("translation.search", "mode", mode, "locale", locale != null ? locale : "any");
+    }
+    
+    private Timer tagTimer(String operation) {
+        return meterRegistry.timer("translation.tags.resolve", "operation", operation);
+    }
 }
-
-
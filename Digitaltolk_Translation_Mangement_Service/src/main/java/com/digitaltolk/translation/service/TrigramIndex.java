@@ -0,0 +1,111 @@
+package com.digitaltolk.translation.service;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from character trigrams to compressed id sets. A substring query is answered
+ * by intersecting the postings of its trigrams, which yields a superset of the matching ids;
+ * callers must still verify candidates (the database LIKE does that on a handful of primary keys).
+ * Not thread-safe; {@link ContentSearchIndex} guards access.
+ */
+public class TrigramIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+
+    public void add(int id, String text) {
+        if (text == null) {
+            return;
+        }
+        for (long gram : trigrams(normalize(text))) {
+            postings.computeIfAbsent(gram, g -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    /**
+     * Returns the candidate ids for a substring query, or null when the query is too short
+     * to be answered from trigrams.
+     */
+    public RoaringBitmap candidates(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < 3) {
+            return null;
+        }
+
+        List<RoaringBitmap> lists = new ArrayList<>();
+        for (long gram : trigrams(normalized)) {
+            RoaringBitmap posting = postings.get(gram);
+            if (posting == null) {
+                return new RoaringBitmap();
+            }
+            lists.add(posting);
+        }
+
+        // Intersect smallest first so the working set shrinks quickly
+        lists.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap result = lists.get(0).clone();
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.and(lists.get(i));
+        }
+        return result;
+    }
+
+    public int size() {
+        return postings.size();
+    }
+
+    /**
+     * Lower-cased, accent-stripped and folded to base letters, so the index never misses a row
+     * that utf8mb4_0900_ai_ci would match. NFD leaves the letters the collation expands
+     * (ß as ss, æ as ae, œ as oe) or treats as an accented base letter (ø, đ, ð, ł, ħ, ı) alone,
+     * so those are folded here. Folding more than the collation does only adds candidates.
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        StringBuilder folded = null;
+        for (int i = 0; i < stripped.length(); i++) {
+            String replacement = fold(stripped.charAt(i));
+            if (replacement != null && folded == null) {
+                folded = new StringBuilder(stripped.length() + 8).append(stripped, 0, i);
+            }
+            if (folded != null) {
+                if (replacement != null) {
+                    folded.append(replacement);
+                } else {
+                    folded.append(stripped.charAt(i));
+                }
+            }
+        }
+        return folded != null ? folded.toString() : stripped;
+    }
+
+    // Lower-case letters only; upper-case forms (including ẞ) are lower-cased before this
+    private static String fold(char c) {
+        return switch (c) {
+            case 'ß' -> "ss";
+            case 'æ' -> "ae";
+            case 'œ' -> "oe";
+            case 'ø' -> "o";
+            case 'đ', 'ð' -> "d";
+            case 'ł' -> "l";
+            case 'ħ' -> "h";
+            case 'ı' -> "i";
+            default -> null;
+        };
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+}
@@ -0,0 +1,33 @@
+-- Moves translations.translation_key into the translation_keys dictionary (MySQL).
+-- Run once against an existing database before starting a version that maps Translation.dictionaryKey;
+-- new databases get this schema from Hibernate (ddl-auto: update). Takes a metadata lock on translations.
+
+CREATE TABLE IF NOT EXISTS translation_keys (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) COLLATE utf8mb4_bin NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY idx_translation_key_name (name)
+);
+
+-- Keys are case- and accent-sensitive; also fixes a table an earlier start created with the default collation
+ALTER TABLE translation_keys MODIFY name VARCHAR(255) COLLATE utf8mb4_bin NOT NULL;
+
+INSERT IGNORE INTO translation_keys (name)
+SELECT DISTINCT translation_key COLLATE utf8mb4_bin FROM translations;
+
+ALTER TABLE translations ADD COLUMN key_id BIGINT NULL;
+
+UPDATE translations t
+JOIN translation_keys k ON k.name = t.translation_key COLLATE utf8mb4_bin
+SET t.key_id = k.id;
+
+ALTER TABLE translations
+    MODIFY key_id BIGINT NOT NULL,
+    DROP INDEX idx_key_locale,
+    DROP INDEX idx_translation_key,
+    DROP COLUMN translation_key,
+    ADD UNIQUE INDEX idx_key_locale (key_id, locale),
+    ADD CONSTRAINT fk_translations_key FOREIGN KEY (key_id) REFERENCES translation_keys (id);
+
+-- Rebuild so the freed space shows up in the size report
+OPTIMIZE TABLE translations;
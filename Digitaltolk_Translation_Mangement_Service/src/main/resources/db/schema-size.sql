@@ -0,0 +1,21 @@
+-- Table and index sizes of the translation schema (MySQL/InnoDB), for before/after comparisons.
+-- Run ANALYZE TABLE on the listed tables first; information_schema sizes come from cached statistics.
+
+SELECT table_name,
+       table_rows,
+       ROUND(data_length / 1048576, 1)  AS data_mb,
+       ROUND(index_length / 1048576, 1) AS index_mb
+FROM information_schema.tables
+WHERE table_schema = DATABASE()
+  AND table_name IN ('translations', 'translation_keys', 'translation_tags')
+ORDER BY table_name;
+
+-- Per index; PRIMARY is the clustered index, i.e. the rows themselves
+SELECT table_name,
+       index_name,
+       ROUND(stat_value * @@innodb_page_size / 1048576, 1) AS size_mb
+FROM mysql.innodb_index_stats
+WHERE database_name = DATABASE()
+  AND table_name IN ('translations', 'translation_keys', 'translation_tags')
+  AND stat_name = 'size'
+ORDER BY table_name, index_name;
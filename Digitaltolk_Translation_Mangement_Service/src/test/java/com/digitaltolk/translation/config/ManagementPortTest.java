@@ -0,0 +1,57 @@
+package com.digitaltolk.translation.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prometheus and health answer without a login on the management listener only; on the API
+ * port they are not served to anonymous callers.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+// Tests switch metrics export off, which removes the Prometheus endpoint
+@AutoConfigureObservability
+class ManagementPortTest {
+
+	@Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void scrapingAndProbesAreOpenOnTheManagementPort() {
+        ResponseEntity<String> metrics = get(managementPort, "/actuator/prometheus");
+        assertEquals(200, metrics.getStatusCode().value());
+        assertTrue(metrics.getBody().contains("jvm_memory_used_bytes"));
+        assertEquals(200, get(managementPort, "/actuator/health").getStatusCode().value());
+    }
+
+    @Test
+    void scrapingIsClosedOnTheApiPort() {
+        assertTrue(get(serverPort, "/actuator/prometheus").getStatusCode().is4xxClientError());
+        assertTrue(get(serverPort, "/actuator/health").getStatusCode().is4xxClientError());
+    }
+
+    @Test
+    void otherActuatorEndpointsNeedALoginOnTheManagementPort() {
+        assertEquals(403, get(managementPort, "/actuator/metrics").getStatusCode().value());
+    }
+
+    private ResponseEntity<String> get(int port, String path) {
+        return restTemplate.getForEntity("http://localhost:" + port + path, String.class);
+    }
+}
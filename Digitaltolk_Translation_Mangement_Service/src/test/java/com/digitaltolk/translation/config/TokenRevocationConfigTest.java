@@ -0,0 +1,44 @@
+package com.digitaltolk.translation.config;
+
+import com.digitaltolk.translation.security.InMemoryTokenRevocationStore;
+import com.digitaltolk.translation.security.TokenRevocationStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TokenRevocationConfigTest {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(TokenRevocationConfig.class));
+
+    @Test
+    void defaultsToTheInMemoryStore() {
+        contextRunner.run(context ->
+            assertInstanceOf(InMemoryTokenRevocationStore.class, context.getBean(TokenRevocationStore.class)));
+    }
+
+    @Test
+    void applicationStoreReplacesTheDefault() {
+        contextRunner.withUserConfiguration(SharedStoreConfig.class).run(context -> {
+            assertEquals(1, context.getBeanNamesForType(TokenRevocationStore.class).length);
+            assertSame(context.getBean("sharedStore"), context.getBean(TokenRevocationStore.class));
+        });
+    }
+
+    @Configuration
+    static class SharedStoreConfig {
+
+        @Bean
+        TokenRevocationStore sharedStore() {
+            return new InMemoryTokenRevocationStore(10, Duration.ofMinutes(1));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.digitaltolk.translation.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryTokenRevocationStoreTest {
+
+	private final InMemoryTokenRevocationStore store = new InMemoryTokenRevocationStore(100, Duration.ofHours(1));
+    
+    @Test
+    void revokedTokenIdIsRejectedAndOthersAreNot() {
+        Instant issuedAt = Instant.parse("2026-01-01T10:00:00Z");
+        store.revoke("token-1", Instant.now().plusSeconds(60));
+        
+        assertTrue(store.isRevoked("token-1", "alice", issuedAt));
+        assertFalse(store.isRevoked("token-2", "alice", issuedAt));
+    }
+    
+    @Test
+    void revokeAllRejectsTokensIssuedInEarlierSeconds() {
+        store.revokeAll("alice", Instant.parse("2026-01-01T10:00:05.700Z"));
+        
+        assertTrue(store.isRevoked("a", "alice", Instant.parse("2026-01-01T10:00:04Z")));
+        assertTrue(store.isRevoked("b", "alice", null));
+        assertFalse(store.isRevoked("c", "bob", Instant.parse("2026-01-01T10:00:04Z")));
+    }
+    
+    @Test
+    void tokenIssuedInTheSameSecondAsTheCutoffStaysValid() {
+        // iat has whole-second precision, so a re-login right after the logout carries the cutoff's second
+        store.revokeAll("alice", Instant.parse("2026-01-01T10:00:05.700Z"));
+        
+        assertFalse(store.isRevoked("d", "alice", Instant.parse("2026-01-01T10:00:05Z")));
+        assertFalse(store.isRevoked("e", "alice", Instant.parse("2026-01-01T10:00:06Z")));
+    }
+    
+    @Test
+    void laterCutoffWins() {
+        store.revokeAll("alice", Instant.parse("2026-01-01T10:00:10Z"));
+        store.revokeAll("alice", Instant.parse("2026-01-01T10:00:05Z"));
+        
+        assertTrue(store.isRevoked("f", "alice", Instant.parse("2026-01-01T10:00:09Z")));
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.digitaltolk.translation.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenRevocationTest {
+
+	@Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void logoutRevokesOnlyThePresentedToken() throws Exception {
+        String email = register();
+        String first = login(email);
+        String second = login(email);
+        
+        logout(first, false);
+        
+        assertNotEquals(200, status(first));
+        assertEquals(200, status(second));
+    }
+    
+    @Test
+    void logoutAllRevokesEveryEarlierTokenButNotAReLogin() throws Exception {
+        String email = register();
+        String first = login(email);
+        String second = login(email);
+        // Guarantees the earlier tokens' iat falls in an earlier second than the cutoff
+        Thread.sleep(1100);
+        
+        logout(second, true);
+        String again = login(email);
+        
+        assertNotEquals(200, status(first));
+        assertNotEquals(200, status(second));
+        assertEquals(200, status(again));
+    }
+    
+    @Test
+    void reLoginInTheSameSecondAsLogoutAllIsAccepted() throws Exception {
+        String email = register();
+        String token = login(email);
+        
+        logout(token, true);
+        String again = login(email);
+        
+        assertNotEquals(200, status(token));
+        assertEquals(200, status(again));
+    }
+    
+    private String register() throws Exception {
+        String email = "revocation-" + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "email", email, "password", "secret123", "fullName", "Revocation Test"))))
+            .andReturn();
+        return email;
+    }
+    
+    private String login(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", email, "password", "secret123"))))
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+    
+    private void logout(String token, boolean allSessions) throws Exception {
+        int status = mockMvc.perform(post("/api/auth/logout")
+                .param("allSessions", String.valueOf(allSessions))
+                .header("Authorization", "Bearer " + token))
+            .andReturn().getResponse().getStatus();
+        assertEquals(204, status);
+    }
+    
+    private int status(String token) throws Exception {
+        return mockMvc.perform(get("/api/translations/locales").header("Authorization", "Bearer " + token))
+            .andReturn().getResponse().getStatus();
+    }
+
+}
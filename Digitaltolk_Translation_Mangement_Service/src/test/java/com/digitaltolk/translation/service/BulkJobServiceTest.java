@@ -0,0 +1,120 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.JobStatusDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+import static com.digitaltolk.translation.service.TestFixtures.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkJobServiceTest {
+
+	@Autowired
+    private BulkJobService jobService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importJobReportsEveryRowAndCompletes() throws Exception {
+        String prefix = "job.import." + UUID.randomUUID() + ".";
+
+        BulkJob job = jobService.submitImport(body(prefix, 25));
+        await(() -> job.toStatus().getFinishedAt() != null);
+
+        JobStatusDto status = job.toStatus();
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(25, status.getRowsDone());
+        assertNull(status.getTotalRows());
+        assertNotNull(status.getStartedAt());
+        assertNull(status.getError());
+        assertEquals(25, rowsFor(prefix));
+    }
+
+    @Test
+    void queuedJobCancelsAtOnceAndRunningJobStopsAtAChunkBoundary() throws Exception {
+        int before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM translations", Integer.class);
+        String prefix = "job.queued." + UUID.randomUUID() + ".";
+
+        BulkJob seed = jobService.submitSeed(100_000, 7);
+        await(() -> seed.toStatus().getRowsDone() > 0);
+        // The only worker is busy seeding, so the import waits in the queue
+        Set<Path> spooled = spoolFiles();
+        BulkJob queued = jobService.submitImport(body(prefix, 5));
+        Set<Path> spool = spoolFiles();
+        spool.removeAll(spooled);
+        assertEquals(1, spool.size());
+
+        JobStatusDto queuedStatus = jobService.cancel(queued.getId()).toStatus();
+        assertEquals("CANCELLED", queuedStatus.getState());
+        assertNull(queuedStatus.getStartedAt());
+        // The job never runs, so the spooled body is deleted by the cancel itself
+        assertFalse(Files.exists(spool.iterator().next()));
+
+        JobStatusDto running = seed.toStatus();
+        assertEquals("RUNNING", running.getState());
+        assertEquals(1_000_000L, running.getTotalRows());
+        assertTrue(running.getRowsPerSecond() > 0);
+        assertNotNull(running.getEtaSeconds());
+
+        jobService.cancel(seed.getId());
+        await(() -> seed.toStatus().getFinishedAt() != null);
+
+        JobStatusDto cancelled = seed.toStatus();
+        assertEquals("CANCELLED", cancelled.getState());
+        assertTrue(cancelled.getRowsDone() < cancelled.getTotalRows());
+        assertEquals(0, cancelled.getRowsDone() % 100);
+        // Every reported chunk is committed, and nothing after it
+        int after = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM translations", Integer.class);
+        assertEquals(cancelled.getRowsDone(), after - before);
+        assertEquals(0, rowsFor(prefix));
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        assertThrows(RuntimeException.class, () -> jobService.getJob("no-such-job"));
+    }
+
+    private int rowsFor(String prefix) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM translations t JOIN translation_keys k ON k.id = t.key_id " +
+            "WHERE k.name LIKE ?", Integer.class, prefix + "%");
+    }
+
+    private static Set<Path> spoolFiles() throws IOException {
+        Set<Path> files = new HashSet<>();
+        Path tmp = Path.of(System.getProperty("java.io.tmpdir"));
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(tmp, "translation-import-*.json")) {
+            dir.forEach(files::add);
+        }
+        return files;
+    }
+
+    private static ByteArrayInputStream body(String prefix, int rows) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < rows; i++) {
+            json.add("{\"translationKey\":\"" + prefix + i + "\",\"locale\":\"en\",\"content\":\"Row " + i + "\"}");
+        }
+        return new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
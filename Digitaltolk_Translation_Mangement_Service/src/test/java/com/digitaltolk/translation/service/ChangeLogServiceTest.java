@@ -0,0 +1,129 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.DeltaExportDto;
+import com.digitaltolk.translation.dto.TranslationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.digitaltolk.translation.service.TestFixtures.translation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeLogServiceTest {
+
+	@Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private TranslationService translationService;
+
+    @Test
+    void cursorAtOrBelowZeroGetsAFullExportAtTheHead() {
+        String locale = newLocale();
+        create(locale, "welcome", "Welcome");
+        create(locale, "goodbye", "Goodbye");
+
+        for (long cursor : new long[] {0, -5}) {
+            DeltaExportDto delta = changeLogService.getDelta(locale, cursor, 10);
+
+            assertTrue(delta.isFull());
+            assertFalse(delta.isHasMore());
+            assertEquals(2, delta.getCursor());
+            assertEquals(Map.of("welcome", "Welcome", "goodbye", "Goodbye"), delta.getUpserts());
+            assertEquals(List.of(), delta.getDeletes());
+        }
+    }
+
+    @Test
+    void cursorPastTheHeadGetsAFullExport() {
+        String locale = newLocale();
+        create(locale, "welcome", "Welcome");
+
+        DeltaExportDto delta = changeLogService.getDelta(locale, 99, 10);
+
+        assertTrue(delta.isFull());
+        assertEquals(1, delta.getCursor());
+        assertEquals(Map.of("welcome", "Welcome"), delta.getUpserts());
+    }
+
+    @Test
+    void unknownLocaleIsAnEmptyFullExport() {
+        DeltaExportDto delta = changeLogService.getDelta(newLocale(), 0, 10);
+
+        assertTrue(delta.isFull());
+        assertEquals(0, delta.getCursor());
+        assertTrue(delta.getUpserts().isEmpty());
+    }
+
+    @Test
+    void cursorAtTheHeadGetsNothingAndKeepsTheCursor() {
+        String locale = newLocale();
+        create(locale, "welcome", "Welcome");
+
+        DeltaExportDto delta = changeLogService.getDelta(locale, 1, 10);
+
+        assertFalse(delta.isFull());
+        assertEquals(1, delta.getCursor());
+        assertTrue(delta.getUpserts().isEmpty());
+        assertTrue(delta.getDeletes().isEmpty());
+    }
+
+    @Test
+    void deltaHasTheCurrentContentOfChangedKeysAndTombstonesForDeletedOnes() {
+        String locale = newLocale();
+        TranslationDto kept = create(locale, "kept", "Before");
+        TranslationDto deleted = create(locale, "deleted", "Deleted");
+        long cursor = changeLogService.getDelta(locale, 0, 10).getCursor();
+
+        kept.setContent("After");
+        translationService.updateTranslation(kept.getId(), kept);
+        translationService.deleteTranslation(deleted.getId());
+        create(locale, "added", "Added");
+        // Upserted and deleted after the cursor: only the tombstone is reported
+        translationService.deleteTranslation(create(locale, "transient", "Gone").getId());
+
+        DeltaExportDto delta = changeLogService.getDelta(locale, cursor, 10);
+
+        assertFalse(delta.isFull());
+        assertFalse(delta.isHasMore());
+        assertEquals(cursor + 5, delta.getCursor());
+        assertEquals(Map.of("kept", "After", "added", "Added"), delta.getUpserts());
+        assertEquals(List.of("deleted", "transient"), delta.getDeletes());
+    }
+
+    @Test
+    void limitPagesThroughTheLogInSequenceOrder() {
+        String locale = newLocale();
+        create(locale, "first", "First");
+        create(locale, "second", "Second");
+        create(locale, "third", "Third");
+
+        DeltaExportDto page = changeLogService.getDelta(locale, 1, 1);
+        assertTrue(page.isHasMore());
+        assertEquals(2, page.getCursor());
+        assertEquals(Map.of("second", "Second"), page.getUpserts());
+
+        page = changeLogService.getDelta(locale, page.getCursor(), 1);
+        assertFalse(page.isHasMore());
+        assertEquals(3, page.getCursor());
+        assertEquals(Map.of("third", "Third"), page.getUpserts());
+    }
+
+    private TranslationDto create(String locale, String key, String content) {
+        return translationService.createTranslation(translation(key, locale, content));
+    }
+
+    // Sequences are per locale, so each test starts its own at zero
+    private static String newLocale() {
+        return "c" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
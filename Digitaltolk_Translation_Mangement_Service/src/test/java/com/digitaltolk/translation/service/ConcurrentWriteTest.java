@@ -0,0 +1,228 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.ImportReportDto;
+import com.digitaltolk.translation.dto.TranslationDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.digitaltolk.translation.service.TestFixtures.translation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Two transactions writing the same new rows: the first holds its uncommitted insert while
+ * the second runs into it, and both must come out with the same row instead of an error.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConcurrentWriteTest {
+
+	@Autowired
+    private TagRegistry tagRegistry;
+
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+
+    @Autowired
+    private TranslationService translationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startExecutor() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void transactionsCreatingTheSameTagResolveTheSameId() throws Exception {
+        String name = "race-" + UUID.randomUUID();
+
+        List<Long> ids = race(() -> tagRegistry.resolve(List.of(name)).get(name));
+
+        assertNotNull(ids.get(0));
+        assertEquals(ids.get(0), ids.get(1));
+    }
+
+    @Test
+    void upsertsOfTheSameNewTranslationEndUpInOneRow() throws Exception {
+        String key = "race.upsert." + UUID.randomUUID();
+        String tag = "race-" + UUID.randomUUID();
+
+        List<TranslationDto> saved = race(() -> bulkWriter.upsert(translation(key, "en", "Upserted", Set.of(tag))));
+
+        assertEquals(saved.get(0).getId(), saved.get(1).getId());
+        assertNotNull(saved.get(0).getCreatedAt());
+        assertNull(saved.get(1).getCreatedAt());
+        assertEquals(1, rowsFor(key));
+        assertEquals(List.of(tag), tagsOf(saved.get(0).getId()));
+    }
+
+    @Test
+    void chunksWritingTheSameNewTranslationsEndUpInOneRowEach() throws Exception {
+        String prefix = "race.chunk." + UUID.randomUUID() + ".";
+        List<TranslationDto> chunk = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            chunk.add(translation(prefix + i, "en", "Chunk " + i, Set.of("race-chunk")));
+        }
+
+        List<ImportReportDto.ChunkReport> reports = race(() -> bulkWriter.write(chunk));
+
+        assertEquals(20, reports.get(0).getInserted());
+        assertEquals(20, rowsFor(prefix + "%"));
+        Integer links = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM translation_tags tt JOIN translations t ON t.id = tt.translation_id " +
+            "JOIN translation_keys k ON k.id = t.key_id WHERE k.name LIKE ?", Integer.class, prefix + "%");
+        assertEquals(20, links);
+    }
+
+    @Test
+    void keysCreatedUpFrontExistOnceWithoutTranslations() throws Exception {
+        String prefix = "race.keys." + UUID.randomUUID() + ".";
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            names.add(prefix + i);
+        }
+
+        race(() -> { bulkWriter.createKeys(names); return names.size(); });
+
+        assertEquals(20, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM translation_keys WHERE name LIKE ?", Integer.class, prefix + "%"));
+        assertEquals(0, rowsFor(prefix + "%"));
+    }
+
+    @Test
+    void chunkRecreatesARowDeletedSinceItsLookupWithoutTheStaleId() throws Exception {
+        String key = "race.deleted." + UUID.randomUUID();
+        TranslationDto original = translationService.upsertTranslation(translation(key, "en", "Before", Set.of("mobile")));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch deleted = new CountDownLatch(1);
+        Future<?> delete = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM translation_tags WHERE translation_id = ?", original.getId());
+            jdbcTemplate.update("DELETE FROM translations WHERE id = ?", original.getId());
+            deleted.countDown();
+            pause();
+        }));
+        deleted.await();
+
+        // Looks the row up while the delete is uncommitted, then upserts once it has committed
+        bulkWriter.write(List.of(translation(key, "en", "After", Set.of("mobile", "web"))));
+        delete.get(30, TimeUnit.SECONDS);
+
+        Long id = jdbcTemplate.queryForObject("SELECT t.id FROM translations t JOIN translation_keys k ON k.id = t.key_id " +
+            "WHERE k.name = ? AND t.locale = 'en'", Long.class, key);
+        assertNotEquals(original.getId(), id);
+        assertEquals(Set.of("mobile", "web"), Set.copyOf(tagsOf(id)));
+    }
+
+    @Test
+    void tagsOnlyChangeKeepsContentWrittenSinceItsLookup() throws Exception {
+        String key = "race.tags." + UUID.randomUUID();
+        TranslationDto original = translationService.upsertTranslation(translation(key, "en", "Before", Set.of("mobile")));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch updated = new CountDownLatch(1);
+        Future<?> update = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE translations SET content = 'After' WHERE id = ?", original.getId());
+            updated.countDown();
+            pause();
+        }));
+        updated.await();
+
+        // Reads "Before" while the update is uncommitted, then changes the tags once it has committed
+        ImportReportDto.ChunkReport report = bulkWriter.write(List.of(translation(key, "en", null, Set.of("web"))));
+        update.get(30, TimeUnit.SECONDS);
+
+        assertEquals(1, report.getUpdated());
+        assertEquals("After", translationService.getTranslation(original.getId()).getContent());
+        assertEquals(List.of("web"), tagsOf(original.getId()));
+    }
+
+    @Test
+    void upsertChangesOnlyTheTagLinksThatDiffer() {
+        String key = "upsert.tags." + UUID.randomUUID();
+        TranslationDto created = translationService.upsertTranslation(translation(key, "en", "First", Set.of("mobile", "web")));
+        TranslationDto updated = translationService.upsertTranslation(translation(key, "en", "Second", Set.of("web", "desktop")));
+
+        assertEquals(created.getId(), updated.getId());
+        assertEquals(Set.of("web", "desktop"), Set.copyOf(tagsOf(created.getId())));
+    }
+
+    @Test
+    void upsertReturnsTheRequestWithIdAndKeepsTagsLeftOut() {
+        String key = "upsert.single." + UUID.randomUUID();
+        TranslationDto created = translationService.upsertTranslation(translation(key, "en", "First", Set.of("mobile")));
+        TranslationDto updated = translationService.upsertTranslation(translation(key, "en", "Second", null));
+
+        assertEquals(created.getId(), updated.getId());
+        assertEquals("Second", updated.getContent());
+        assertEquals(Set.of("mobile"), updated.getTags());
+        assertEquals(List.of("mobile"), tagsOf(created.getId()));
+        // The read model is disabled here, so this is the database lookup outside a transaction
+        assertEquals("Second", translationService.getTranslation(created.getId()).getContent());
+    }
+
+    private int rowsFor(String keyPattern) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM translations t JOIN translation_keys k ON k.id = t.key_id " +
+            "WHERE k.name LIKE ? AND t.locale = 'en'", Integer.class, keyPattern);
+    }
+
+    private List<String> tagsOf(long translationId) {
+        return jdbcTemplate.queryForList("SELECT g.name FROM translation_tags tt JOIN tags g ON g.id = tt.tag_id " +
+            "WHERE tt.translation_id = ?", String.class, translationId);
+    }
+
+    // Runs the write in two transactions, the second starting once the first has written but not committed
+    private <T> List<T> race(Supplier<T> write) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch written = new CountDownLatch(1);
+        Future<T> first = executor.submit(() -> transaction.execute(status -> {
+            T result = write.get();
+            written.countDown();
+            pause();
+            return result;
+        }));
+        Future<T> second = executor.submit(() -> {
+            written.await();
+            return transaction.execute(status -> write.get());
+        });
+        return List.of(first.get(30, TimeUnit.SECONDS), second.get(30, TimeUnit.SECONDS));
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
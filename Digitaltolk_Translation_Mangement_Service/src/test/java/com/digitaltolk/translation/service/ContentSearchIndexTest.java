@@ -0,0 +1,98 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.entity.Translation;
+import com.digitaltolk.translation.repo.TranslationFilter;
+import com.digitaltolk.translation.repo.TranslationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.digitaltolk.translation.service.TestFixtures.await;
+import static com.digitaltolk.translation.service.TestFixtures.translation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Searches answered through the trigram candidates must return exactly what the LIKE filters
+ * alone return, including after updates and deletes have left stale postings behind.
+ */
+@SpringBootTest(properties = "app.search.index.enabled=true")
+@ActiveProfiles("test")
+class ContentSearchIndexTest {
+
+	private static final String LOCALE = "si";
+
+    @Autowired
+    private ContentSearchIndex searchIndex;
+
+    @Autowired
+    private TranslationService translationService;
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+
+    @BeforeEach
+    void awaitIndex() {
+        await(() -> searchIndex.candidates(null, "welcome").isPresent());
+    }
+
+    @Test
+    void indexedSearchMatchesTheLikeFallback() {
+        bulkWriter.write(List.of(
+            translation("search.home.title", LOCALE, "Welcome home"),
+            translation("search.home.subtitle", LOCALE, "Good to see you again"),
+            translation("search.cart.title", LOCALE, "Your CART is empty"),
+            translation("search.cart_total", LOCALE, "Total: 100% paid"),
+            translation("search.street", LOCALE, "Straße")));
+
+        assertSameAsFallback("search.", null);
+        assertSameAsFallback("home", null);
+        assertSameAsFallback("cart_", null);
+        assertSameAsFallback(null, "cart");
+        assertSameAsFallback(null, "100%");
+        assertSameAsFallback("search", "welcome");
+        assertSameAsFallback(null, "straße");
+        assertSameAsFallback(null, "nothing like this");
+        assertSameAsFallback("ho", "me");
+    }
+
+    @Test
+    void stalePostingsAreFilteredOutByTheDatabase() {
+        TranslationDto changed = translationService.upsertTranslation(translation("search.stale.changed", LOCALE, "Original wording"));
+        TranslationDto deleted = translationService.upsertTranslation(translation("search.stale.deleted", LOCALE, "Original wording"));
+
+        changed.setContent("Replacement wording");
+        translationService.updateTranslation(changed.getId(), changed);
+        translationService.deleteTranslation(deleted.getId());
+
+        assertFalse(searchIndex.candidates(null, "original").orElseThrow().isEmpty());
+        assertEquals(List.of(), search(null, "original"));
+        assertEquals(List.of(changed.getId()), search("search.stale", "replacement"));
+        assertSameAsFallback("search.stale", "wording");
+    }
+
+    private void assertSameAsFallback(String key, String content) {
+        List<Long> fallback = new ArrayList<>();
+        TranslationFilter likeOnly = new TranslationFilter(key, LOCALE, content, null, null, false);
+        for (Translation translation : translationRepository.search(likeOnly, PageRequest.of(0, 100, Sort.by("id")))) {
+            fallback.add(translation.getId());
+        }
+        assertEquals(fallback, search(key, content), "key=" + key + " content=" + content);
+    }
+
+    private List<Long> search(String key, String content) {
+        return translationService.searchTranslations(key, LOCALE, content, null, false, 0, 100, "id", "asc")
+            .map(TranslationDto::getId).getContent();
+    }
+}
@@ -0,0 +1,145 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.dto.TranslationSliceDto;
+import com.digitaltolk.translation.repo.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.digitaltolk.translation.service.TestFixtures.translation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class KeysetPaginationTest {
+
+	private static final String LOCALE = "ks";
+    private static final int ROWS = 25;
+
+    @Autowired
+    private TranslationService translationService;
+
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+
+    @BeforeEach
+    void seed() {
+        if (!page("id", "asc", null, 1).getContent().isEmpty()) {
+            return;
+        }
+        // One write per key in reverse name order, so creation order differs from name order
+        for (int i = ROWS - 1; i >= 0; i--) {
+            bulkWriter.write(List.of(row(String.format("keyset.%02d", i))));
+        }
+        // One chunk: its rows share updatedAt, so only the id orders them
+        bulkWriter.write(List.of(row("keyset.same.a"), row("keyset.same.b"), row("keyset.same.c")));
+    }
+
+    @Test
+    void pagesVisitEveryRowOnceForEverySortAndDirection() {
+        List<TranslationDto> all = page("id", "asc", null, 100).getContent();
+        for (String sortBy : KeysetCursor.SORTABLE_FIELDS) {
+            for (String direction : List.of("asc", "desc")) {
+                List<TranslationDto> paged = pageThrough(sortBy, direction, 4);
+
+                assertEquals(all.size(), paged.size(), sortBy + " " + direction);
+                assertEquals(all.size(), new HashSet<>(paged.stream().map(TranslationDto::getId).toList()).size());
+            }
+        }
+    }
+
+    @Test
+    void rowsWithEqualUpdatedAtAreOrderedById() {
+        List<TranslationDto> paged = pageThrough("updatedAt", "asc", 2);
+
+        for (int i = 1; i < paged.size(); i++) {
+            TranslationDto previous = paged.get(i - 1);
+            TranslationDto current = paged.get(i);
+            int byTime = previous.getUpdatedAt().compareTo(current.getUpdatedAt());
+            assertFalse(byTime > 0 || byTime == 0 && previous.getId() > current.getId(),
+                "row " + current.getId() + " after " + previous.getId());
+        }
+    }
+
+    @Test
+    void translationKeySortIsAlphabetical() {
+        List<String> keys = pageThrough("translationKey", "asc", 5).stream()
+            .map(TranslationDto::getTranslationKey).toList();
+
+        assertEquals(keys.stream().sorted().toList(), keys);
+        assertEquals("keyset.00", keys.get(0));
+    }
+
+    @Test
+    void keyIdSortFollowsKeyCreationOrder() {
+        List<String> keys = pageThrough("keyId", "asc", 5).stream()
+            .map(TranslationDto::getTranslationKey).toList();
+
+        // Created last-name-first, so creation order is the reverse of name order
+        assertEquals("keyset.24", keys.get(0));
+        assertEquals("keyset.00", keys.get(ROWS - 1));
+    }
+
+    @Test
+    void cursorForAnotherSortIsRejected() {
+        String cursor = page("updatedAt", "desc", null, 2).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> page("id", "desc", cursor, 2));
+        assertThrows(IllegalArgumentException.class, () -> page("updatedAt", "asc", cursor, 2));
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> page("id", "asc", "not base64!", 2));
+        assertThrows(IllegalArgumentException.class, () -> page("id", "asc", token("id|asc|abc|"), 2));
+        assertThrows(IllegalArgumentException.class, () -> page("updatedAt", "asc", token("updatedAt|asc|1|yesterday"), 2));
+        assertThrows(IllegalArgumentException.class, () -> page("keyId", "asc", token("keyId|asc|1|welcome"), 2));
+        assertThrows(IllegalArgumentException.class, () -> page("id", "asc", token("id|asc"), 2));
+    }
+
+    @Test
+    void cursorRoundTripsThroughItsToken() {
+        KeysetCursor byKeyId = KeysetCursor.decode(new KeysetCursor("keyId", false, 42L, 7).encode(), "keyId", false);
+        // Key names may contain the separator
+        KeysetCursor byKey = KeysetCursor.decode(new KeysetCursor("translationKey", true, "a|b", 8).encode(), "translationKey", true);
+
+        assertEquals(42L, byKeyId.getValue());
+        assertEquals(7, byKeyId.getId());
+        assertEquals("a|b", byKey.getValue());
+        assertEquals(8, byKey.getId());
+    }
+
+    private List<TranslationDto> pageThrough(String sortBy, String direction, int size) {
+        List<TranslationDto> rows = new ArrayList<>();
+        String cursor = null;
+        do {
+            TranslationSliceDto slice = page(sortBy, direction, cursor, size);
+            rows.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    private TranslationSliceDto page(String sortBy, String direction, String cursor, int size) {
+        return translationService.searchTranslationsKeyset(null, LOCALE, null, null, false, size, sortBy, direction, cursor);
+    }
+
+    private static TranslationDto row(String key) {
+        return translation(key, LOCALE, "Content of " + key);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
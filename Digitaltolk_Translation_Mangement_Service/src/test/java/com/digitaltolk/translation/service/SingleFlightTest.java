@@ -0,0 +1,127 @@
+package com.digitaltolk.translation.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+	private static final int CALLERS = 8;
+
+    private final AtomicInteger coalesced = new AtomicInteger();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SingleFlight<String, String> flight = new SingleFlight<>(coalesced::incrementAndGet);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startExecutor() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersForOneKeyShareASingleLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> calls = callConcurrently("en", () -> {
+            await(release);
+            return "snapshot-" + loads.incrementAndGet();
+        });
+        release.countDown();
+
+        for (Future<String> call : calls) {
+            assertEquals("snapshot-1", call.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, coalesced.get());
+        assertFalse(flight.isInFlight("en"));
+    }
+
+    @Test
+    void failureReachesEveryWaitingCallerAndIsNotKept() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("load failed");
+
+        List<Future<String>> calls = callConcurrently("en", () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<String> call : calls) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> call.get(10, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(1, loads.get());
+        // The next call loads again instead of replaying the failure
+        assertEquals("retried", flight.execute("en", () -> "retried"));
+    }
+
+    @Test
+    void differentKeysLoadIndependently() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> en = executor.submit(() -> flight.execute("en", () -> {
+            await(release);
+            return "en";
+        }));
+        TestFixtures.await(() -> flight.isInFlight("en"));
+
+        // Would block behind the "en" load if keys were not independent
+        assertEquals("de", flight.execute("de", () -> "de"));
+        release.countDown();
+
+        assertEquals("en", en.get(10, TimeUnit.SECONDS));
+        assertEquals(0, coalesced.get());
+    }
+
+    @Test
+    void completedCallsAreNotCached() {
+        assertEquals("1", flight.execute("en", () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("2", flight.execute("en", () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals(0, coalesced.get());
+    }
+
+    // One leader that blocks in the loader, then followers that join it; returns once all have joined
+    private List<Future<String>> callConcurrently(String key, Supplier<String> loader) {
+        List<Future<String>> calls = new ArrayList<>();
+        calls.add(executor.submit(() -> flight.execute(key, loader)));
+        TestFixtures.await(() -> flight.isInFlight(key));
+        for (int i = 1; i < CALLERS; i++) {
+            calls.add(executor.submit(() -> flight.execute(key, loader)));
+        }
+        TestFixtures.await(() -> coalesced.get() == CALLERS - 1);
+        return calls;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TagAssignmentDto;
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.entity.Translation;
+import com.digitaltolk.translation.repo.TranslationFilter;
+import com.digitaltolk.translation.repo.TranslationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.digitaltolk.translation.service.TestFixtures.await;
+import static com.digitaltolk.translation.service.TestFixtures.translation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Any/all tag filters combined with the locale and key filters, answered from the tag index
+ * and checked against the same filters evaluated in the database alone.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TagFilterSearchTest {
+
+	private static final String PREFIX = "tagfilter.";
+
+    @Autowired
+    private TagFilterIndex tagIndex;
+
+    @Autowired
+    private TranslationService translationService;
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+
+    @Autowired
+    private TagService tagService;
+
+    @BeforeEach
+    void seed() {
+        await(() -> tagIndex.match(Set.of("mobile"), false).isPresent());
+        if (!search(PREFIX, null, List.of("mobile"), false).isEmpty()) {
+            return;
+        }
+        bulkWriter.write(List.of(
+            row("a", "en", "mobile", "web"),
+            row("a", "de", "mobile"),
+            row("b", "en", "web"),
+            row("b", "de", "web", "desktop"),
+            row("c", "en", "desktop", "mobile"),
+            row("d", "en")));
+    }
+
+    @Test
+    void anyTagWithinALocale() {
+        assertEquals(Set.of("a/en", "b/en", "c/en"), search(PREFIX, "en", List.of("mobile", "web"), false));
+        assertEquals(Set.of("a/de"), search(PREFIX, "de", List.of("mobile"), false));
+    }
+
+    @Test
+    void allTagsWithinALocale() {
+        assertEquals(Set.of("a/en"), search(PREFIX, "en", List.of("mobile", "web"), true));
+        assertEquals(Set.of(), search(PREFIX, "de", List.of("mobile", "web"), true));
+        assertEquals(Set.of("b/de"), search(PREFIX, "de", List.of("web", "desktop"), true));
+    }
+
+    @Test
+    void tagsCombinedWithAKeyFilterAcrossLocales() {
+        assertEquals(Set.of("a/en", "a/de"), search(PREFIX + "a", null, List.of("mobile"), false));
+        assertEquals(Set.of("b/de"), search(PREFIX + "b", null, List.of("desktop", "mobile"), false));
+        assertEquals(Set.of(), search(PREFIX + "d", null, List.of("mobile", "web", "desktop"), false));
+    }
+
+    @Test
+    void unknownTagMatchesNothingForAllAndIsSkippedForAny() {
+        assertEquals(Set.of("a/de"), search(PREFIX, "de", List.of("mobile", "no-such-tag"), false));
+        assertEquals(Set.of(), search(PREFIX, "de", List.of("mobile", "no-such-tag"), true));
+        assertEquals(Set.of(), search(PREFIX, null, List.of("no-such-tag"), false));
+    }
+
+    @Test
+    void bulkTagChangeTooLargeToListRebuildsTheIndex() {
+        String key = PREFIX + "wide." + UUID.randomUUID() + ".";
+        List<TranslationDto> rows = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            rows.add(translation(key + i, "en", "Wide " + i));
+            rows.add(translation(key + i, "de", "Wide " + i));
+        }
+        bulkWriter.write(rows);
+        String tag = "wide-" + UUID.randomUUID();
+        TagAssignmentDto selection = new TagAssignmentDto();
+        selection.setKeyPrefix(key);
+
+        // 24 rows exceed the ids application-test.yml lets an event list
+        tagService.assign(tag, selection);
+
+        // The database answers until the rebuild, and the same rows either way
+        assertEquals(24, search(key, null, List.of(tag), false).size());
+        await(() -> tagIndex.match(Set.of(tag), false).isPresent());
+        assertEquals(24, tagIndex.match(Set.of(tag), false).get().getCardinality());
+        assertEquals(24, search(key, null, List.of(tag), false).size());
+    }
+
+    // Searches through the service and asserts the database-only filter returns the same rows
+    private Set<String> search(String key, String locale, List<String> tags, boolean matchAll) {
+        Set<String> indexed = new HashSet<>();
+        for (TranslationDto dto : translationService.searchTranslations(key, locale, null, tags, matchAll, 0, 100, "id", "asc")) {
+            indexed.add(dto.getTranslationKey().substring(PREFIX.length()) + "/" + dto.getLocale());
+        }
+
+        Set<String> fallback = new HashSet<>();
+        TranslationFilter databaseOnly = new TranslationFilter(key, locale, null, null, new HashSet<>(tags), matchAll);
+        for (Translation translation : translationRepository.search(databaseOnly, PageRequest.of(0, 100, Sort.by("id")))) {
+            fallback.add(translation.getTranslationKey().substring(PREFIX.length()) + "/" + translation.getLocale());
+        }
+        assertEquals(fallback, indexed, "key=" + key + " locale=" + locale + " tags=" + tags + " all=" + matchAll);
+        return indexed;
+    }
+
+    private static TranslationDto row(String key, String locale, String... tags) {
+        return translation(PREFIX + key, locale, "Content of " + key, Set.of(tags));
+    }
+}
@@ -0,0 +1,166 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TagAssignmentDto;
+import com.digitaltolk.translation.dto.TagAssignmentResultDto;
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.digitaltolk.translation.service.TestFixtures.translation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class TagServiceTest {
+
+	@Autowired
+    private TagService tagService;
+
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void assignLinksOnlyTheSelectionThatLacksTheTag() {
+        String prefix = seed(3, "en", "de");
+        String tag = "bulk-" + UUID.randomUUID();
+
+        TagAssignmentResultDto first = tagService.assign(tag, selection(prefix, "en", null));
+        TagAssignmentResultDto second = tagService.assign(tag, selection(prefix, "en", null));
+
+        assertEquals(3, first.getChanged());
+        assertEquals(0, second.getChanged());
+        assertEquals(3, linked(prefix, "en", tag));
+        assertEquals(0, linked(prefix, "de", tag));
+    }
+
+    @Test
+    void unassignRemovesTheTagFromSelectedIdsOnly() {
+        String prefix = seed(3, "en");
+        String tag = "bulk-" + UUID.randomUUID();
+        tagService.assign(tag, selection(prefix, null, null));
+        List<Long> ids = jdbcTemplate.queryForList("SELECT t.id FROM translations t JOIN translation_keys k ON k.id = t.key_id " +
+            "WHERE k.name LIKE ? ORDER BY t.id", Long.class, prefix + "%");
+
+        TagAssignmentResultDto result = tagService.unassign(tag, selection(null, null, ids.subList(0, 2)));
+
+        assertEquals(2, result.getChanged());
+        assertEquals(1, linked(prefix, "en", tag));
+    }
+
+    @Test
+    void unassignOfAnUnknownTagCreatesNothing() {
+        String tag = "missing-" + UUID.randomUUID();
+
+        assertEquals(0, tagService.unassign(tag, selection("any.", null, null)).getChanged());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tags WHERE name = ?", Integer.class, tag));
+    }
+
+    @Test
+    void keyPrefixIsMatchedLiterally() {
+        String prefix = seed(2, "en");
+        String tag = "bulk-" + UUID.randomUUID();
+
+        // '_' and '%' are LIKE wildcards; escaped, they only match themselves
+        assertEquals(0, tagService.assign(tag, selection(prefix.replace('.', '_'), null, null)).getChanged());
+        assertEquals(0, tagService.assign(tag, selection(prefix + "%", null, null)).getChanged());
+        assertEquals(2, tagService.assign(tag, selection(prefix, null, null)).getChanged());
+    }
+
+    @Test
+    void operationPublishesOneEventWithEveryChangedId() {
+        String prefix = seed(8, "en", "de");
+        String tag = "bulk-" + UUID.randomUUID();
+
+        tagService.assign(tag, selection(prefix, null, null));
+
+        List<TranslationChangedEvent> published = events.stream(TranslationChangedEvent.class).toList();
+        assertEquals(1, published.size());
+        assertEquals(16, published.get(0).getTranslationIds().size());
+        assertEquals(Set.of(), published.get(0).getLocales());
+        assertFalse(published.get(0).isAllTranslations());
+    }
+
+    @Test
+    void selectionAboveTheListedIdLimitPublishesAnEventForAllTranslations() {
+        // application-test.yml lists at most 20 ids
+        String prefix = seed(12, "en", "de");
+        String tag = "bulk-" + UUID.randomUUID();
+
+        assertEquals(24, tagService.assign(tag, selection(prefix, null, null)).getChanged());
+        List<TranslationChangedEvent> assigned = events.stream(TranslationChangedEvent.class).toList();
+        events.clear();
+        assertEquals(24, tagService.unassign(tag, selection(prefix, null, null)).getChanged());
+        List<TranslationChangedEvent> unassigned = events.stream(TranslationChangedEvent.class).toList();
+
+        for (List<TranslationChangedEvent> published : List.of(assigned, unassigned)) {
+            assertEquals(1, published.size());
+            assertTrue(published.get(0).isAllTranslations());
+            assertEquals(Set.of(), published.get(0).getTranslationIds());
+        }
+        assertEquals(0, linked(prefix, "en", tag));
+    }
+
+    @Test
+    void operationThatChangesNothingPublishesNothing() {
+        String prefix = seed(2, "en");
+        String tag = "bulk-" + UUID.randomUUID();
+        tagService.assign(tag, selection(prefix, null, null));
+        events.clear();
+
+        assertEquals(0, tagService.assign(tag, selection(prefix, null, null)).getChanged());
+        assertEquals(0, events.stream(TranslationChangedEvent.class).count());
+    }
+
+    @Test
+    void selectionIsRequired() {
+        assertThrows(IllegalArgumentException.class, () -> tagService.assign("bulk", selection(null, null, null)));
+    }
+
+    private String seed(int keys, String... locales) {
+        String prefix = "bulk." + UUID.randomUUID() + ".";
+        List<TranslationDto> chunk = new ArrayList<>();
+        for (int i = 0; i < keys; i++) {
+            for (String locale : locales) {
+                chunk.add(translation(prefix + i, locale, "Content " + i));
+            }
+        }
+        bulkWriter.write(chunk);
+        events.clear();
+        return prefix;
+    }
+
+    private int linked(String prefix, String locale, String tag) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM translation_tags tt JOIN tags g ON g.id = tt.tag_id " +
+            "JOIN translations t ON t.id = tt.translation_id JOIN translation_keys k ON k.id = t.key_id " +
+            "WHERE g.name = ? AND t.locale = ? AND k.name LIKE ?", Integer.class, tag, locale, prefix + "%");
+    }
+
+    private static TagAssignmentDto selection(String keyPrefix, String locale, List<Long> ids) {
+        TagAssignmentDto selection = new TagAssignmentDto();
+        selection.setKeyPrefix(keyPrefix);
+        selection.setLocale(locale);
+        selection.setIds(ids);
+        return selection;
+    }
+}
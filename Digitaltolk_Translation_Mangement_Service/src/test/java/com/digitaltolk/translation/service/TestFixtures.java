@@ -0,0 +1,43 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TranslationDto;
+
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Request DTOs and polling shared by the service tests.
+ */
+final class TestFixtures {
+
+	private TestFixtures() {}
+
+    static TranslationDto translation(String key, String locale, String content) {
+        return translation(key, locale, content, null);
+    }
+
+    static TranslationDto translation(String key, String locale, String content, Set<String> tags) {
+        TranslationDto dto = new TranslationDto();
+        dto.setTranslationKey(key);
+        dto.setLocale(locale);
+        dto.setContent(content);
+        dto.setTags(tags);
+        return dto;
+    }
+
+    // For work applied off the calling thread: read model refreshes, index builds, bulk jobs
+    static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 30 s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TagAssignmentDto;
+import com.digitaltolk.translation.dto.TranslationDto;
+import com.digitaltolk.translation.event.TranslationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.digitaltolk.translation.service.TestFixtures.await;
+import static com.digitaltolk.translation.service.TestFixtures.translation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.read-model.enabled=true")
+@ActiveProfiles("test")
+class TranslationReadModelTest {
+
+	@Autowired
+    private TranslationReadModel readModel;
+
+    @Autowired
+    private TranslationService translationService;
+
+    @Autowired
+    private BulkTranslationWriter bulkWriter;
+
+    @Autowired
+    private ExportSnapshotService exportService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private InterleavedReader interleavedReader;
+
+    @BeforeEach
+    void awaitLoad() {
+        await(readModel::isReady);
+    }
+
+    @Test
+    void committedWritesAreAppliedAndLookupsNeverSeeTheOldRow() {
+        TranslationDto created = translationService.createTranslation(translation("rm." + UUID.randomUUID(), "rm", "First"));
+        await(() -> readModel.isCurrent(created.getId()));
+        assertEquals("First", readModel.find(created.getId()).orElseThrow().getContent());
+
+        created.setContent("Second");
+        created.setTags(Set.of("web"));
+        translationService.updateTranslation(created.getId(), created);
+        // Served from the database until the refresh is applied, from memory afterwards
+        assertEquals("Second", translationService.getTranslation(created.getId()).getContent());
+        await(() -> readModel.isCurrent(created.getId()));
+        TranslationDto applied = readModel.find(created.getId()).orElseThrow();
+        assertEquals("Second", applied.getContent());
+        assertEquals(Set.of("web"), applied.getTags());
+
+        translationService.deleteTranslation(created.getId());
+        await(() -> readModel.isCurrent(created.getId()));
+        assertTrue(readModel.find(created.getId()).isEmpty());
+    }
+
+    @Test
+    void burstOfWritesEndsWithTheLastContentOfEveryRow() {
+        String locale = "rb";
+        String prefix = "rm.burst." + UUID.randomUUID() + ".";
+        for (int round = 0; round < 5; round++) {
+            List<TranslationDto> chunk = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                chunk.add(translation(prefix + i, locale, "Round " + round));
+            }
+            bulkWriter.write(chunk);
+        }
+
+        await(() -> readModel.isCurrent(locale));
+        Map<String, String> export = readModel.export(locale, null);
+        for (int i = 0; i < 50; i++) {
+            assertEquals("Round 4", export.get(prefix + i));
+        }
+        assertTrue(translationService.getAllLocales().contains(locale));
+    }
+
+    @Test
+    void writesCommittedDuringARebuildAreReplayed() {
+        String locale = "rr";
+        String prefix = "rm.replay." + UUID.randomUUID() + ".";
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(readModel::rebuild);
+        for (int i = 0; i < 100; i++) {
+            bulkWriter.write(List.of(translation(prefix + i, locale, "Replayed " + i)));
+        }
+        rebuild.join();
+
+        await(() -> readModel.isCurrent(locale));
+        Map<String, String> export = readModel.export(locale, null);
+        assertEquals(100, export.size());
+        assertEquals("Replayed 99", export.get(prefix + 99));
+    }
+
+    @Test
+    void exportAndLookupInterleavedWithACommitSeeTheNewRow() {
+        String locale = "ri";
+        TranslationDto created = translationService.createTranslation(translation("rm.interleaved." + UUID.randomUUID(), locale, "Old"));
+        await(() -> readModel.isCurrent(locale));
+        assertTrue(body(exportService.getSnapshot(locale)).contains("Old"));
+
+        // Reads run from an after-commit listener ordered ahead of the snapshot and cache listeners
+        interleavedReader.locale = locale;
+        try {
+            created.setContent("New");
+            translationService.updateTranslation(created.getId(), created);
+        } finally {
+            interleavedReader.locale = null;
+        }
+
+        assertTrue(body(interleavedReader.snapshot.get()).contains("New"));
+        assertEquals("New", interleavedReader.lookup.get().getContent());
+        assertTrue(body(exportService.getSnapshot(locale)).contains("New"));
+        assertEquals("New", translationService.getTranslation(created.getId()).getContent());
+    }
+
+    @Test
+    void tagChangeTooLargeToListReloadsTheModel() {
+        String prefix = "rm.wide." + UUID.randomUUID() + ".";
+        List<TranslationDto> chunk = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            chunk.add(translation(prefix + i, "rw", "Wide " + i));
+        }
+        bulkWriter.write(chunk);
+        String tag = "wide-" + UUID.randomUUID();
+        TagAssignmentDto selection = new TagAssignmentDto();
+        selection.setKeyPrefix(prefix);
+
+        // 30 rows exceed the ids application-test.yml lets an event list
+        tagService.assign(tag, selection);
+        long id = translationService.searchTranslations(prefix + "0", "rw", null, null, false, 0, 1, "id", "asc")
+            .getContent().get(0).getId();
+        assertEquals(Set.of(tag), translationService.getTranslation(id).getTags());
+
+        await(() -> readModel.isCurrent(id));
+        assertEquals(Set.of(tag), readModel.find(id).orElseThrow().getTags());
+    }
+
+    @Test
+    void unknownLocaleIsCurrentAndEmpty() {
+        assertFalse(readModel.getLocales().contains("zz"));
+        assertTrue(readModel.isCurrent("zz"));
+        assertTrue(readModel.export("zz", null).isEmpty());
+    }
+
+    private static String body(ExportSnapshot snapshot) {
+        return new String(snapshot.getBody(), StandardCharsets.UTF_8);
+    }
+
+    @TestConfiguration
+    static class InterleavedReaderConfig {
+
+        @Bean
+        InterleavedReader interleavedReader(ExportSnapshotService exportService, TranslationService translationService) {
+            return new InterleavedReader(exportService, translationService);
+        }
+    }
+
+    /**
+     * Builds the snapshot for the new generation and looks the row up the moment a write to the
+     * armed locale commits, before the cache eviction has run.
+     */
+    static class InterleavedReader {
+
+        private final ExportSnapshotService exportService;
+        private final TranslationService translationService;
+        final AtomicReference<ExportSnapshot> snapshot = new AtomicReference<>();
+        final AtomicReference<TranslationDto> lookup = new AtomicReference<>();
+        volatile String locale;
+
+        InterleavedReader(ExportSnapshotService exportService, TranslationService translationService) {
+            this.exportService = exportService;
+            this.translationService = translationService;
+        }
+
+        @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+        @TransactionalEventListener(fallbackExecution = true)
+        public void onTranslationChanged(TranslationChangedEvent event) {
+            String armed = locale;
+            if (armed == null || !event.getLocales().contains(armed)) {
+                return;
+            }
+            // The generation bump may run first among the unordered listeners
+            exportService.invalidate(armed);
+            snapshot.set(exportService.getSnapshot(armed));
+            event.getTranslationIds().forEach(id -> lookup.set(translationService.getTranslation(id)));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.digitaltolk.translation.service;
+
+import com.digitaltolk.translation.dto.TranslationDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static com.digitaltolk.translation.service.TestFixtures.translation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TranslationServiceQueryCountTest {
+
+	@Autowired
+    private TranslationService translationService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (translationService.searchTranslations(null, "qc", null, null, false, 0, 1, "id", "asc").getTotalElements() > 0) {
+            return;
+        }
+        for (int i = 0; i < 60; i++) {
+            translationService.createTranslation(translation("query.count." + i, "qc", "Content " + i,
+                Set.of("mobile", i % 2 == 0 ? "web" : "desktop")));
+        }
+    }
+    
+    @Test
+    void searchIssuesSameNumberOfStatementsRegardlessOfPageSize() {
+        long smallPage = statementsFor(10);
+        long largePage = statementsFor(50);
+        
+        assertEquals(smallPage, largePage);
+        // page query + count query + one batched tag query
+        assertTrue(largePage <= 3, "expected at most 3 statements but was " + largePage);
+    }
+    
+    @Test
+    void searchStillReturnsTagsForEveryRow() {
+        Page<TranslationDto> page = translationService.searchTranslations(null, "qc", null, null, false, 0, 50, "id", "asc");
+        
+        assertEquals(50, page.getNumberOfElements());
+        page.forEach(dto -> assertEquals(2, dto.getTags().size()));
+    }
+    
+    private long statementsFor(int pageSize) {
+        statistics.clear();
+        translationService.searchTranslations(null, "qc", null, null, false, 0, pageSize, "id", "asc");
+        return statistics.getPrepareStatementCount();
+    }
+
+}
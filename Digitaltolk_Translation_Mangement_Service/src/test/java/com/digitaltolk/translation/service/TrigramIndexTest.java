@@ -0,0 +1,49 @@
+package com.digitaltolk.translation.service;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+	@Test
+    void normalizeFoldsCaseAccentsAndTheLettersTheCollationExpands() {
+        assertEquals("cafe", TrigramIndex.normalize("CAFÉ"));
+        assertEquals("strasse", TrigramIndex.normalize("Straße"));
+        assertEquals("strasse", TrigramIndex.normalize("STRAẞE"));
+        assertEquals("aeroskobing", TrigramIndex.normalize("Ærøskøbing"));
+        assertEquals("oeuvre", TrigramIndex.normalize("Œuvre"));
+        assertEquals("lodz", TrigramIndex.normalize("Łódź"));
+        assertEquals("plain text", TrigramIndex.normalize("plain text"));
+    }
+
+    @Test
+    void candidatesAreASupersetOfTheCollationMatches() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "Willkommen in der Straße");
+        index.add(2, "Welcome to the street");
+        index.add(3, "Encyclopædia entry");
+        index.add(4, "Smørrebrød menu");
+
+        assertEquals(RoaringBitmap.bitmapOf(1), index.candidates("strasse"));
+        assertEquals(RoaringBitmap.bitmapOf(1), index.candidates("STRAßE"));
+        assertEquals(RoaringBitmap.bitmapOf(3), index.candidates("encyclopaedia"));
+        assertEquals(RoaringBitmap.bitmapOf(4), index.candidates("smorrebrod"));
+        assertEquals(RoaringBitmap.bitmapOf(2), index.candidates("STREET"));
+    }
+
+    @Test
+    void unknownTrigramMatchesNothingAndShortQueriesCannotBeAnswered() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "Welcome");
+
+        assertTrue(index.candidates("xyz").isEmpty());
+        assertNull(index.candidates("we"));
+        // ß counts as two letters once folded
+        assertNull(index.candidates("ß"));
+        assertTrue(index.candidates("aß") != null);
+    }
+}